@@ -0,0 +1,40 @@
+package com.example.moviereview.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Caches are sized and timed by spring.cache.* in application.properties;
+// spring.cache.type=none turns them off for an environment
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MOVIE = "movie";
+    public static final String CATALOG = "catalog";
+    public static final String CATALOG_PAGES = "catalogPages";
+
+    // Evictions inside a transaction wait for the commit, so a concurrent read cannot re-cache old data
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CacheManager cacheManager(
+            @Value("${spring.cache.cache-names:}") List<String> cacheNames,
+            @Value("${spring.cache.caffeine.spec:}") String spec
+    ) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        if (!spec.isBlank()) {
+            caffeine.setCacheSpecification(spec);
+        }
+        if (!cacheNames.isEmpty()) {
+            caffeine.setCacheNames(cacheNames);
+        }
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.moviereview.config;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// Records per-request Hibernate work (see RequestQueryStats) by endpoint. Runs ahead of the
+// security filters so token checks that hit the database are counted too.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    // the three summaries of each endpoint, built on its first request
+    private final ConcurrentMap<String, Summaries> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats.Counts counts = RequestQueryStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            counts.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            String method = request.getMethod();
+            Summaries endpoint = summaries.computeIfAbsent(method + ' ' + uri, k -> new Summaries(
+                    summary("hibernate.request.statements", uri, method),
+                    summary("hibernate.request.entity.loads", uri, method),
+                    summary("hibernate.request.collection.fetches", uri, method)));
+            endpoint.statements().record(counts.getStatements());
+            endpoint.entityLoads().record(counts.getEntityLoads());
+            endpoint.collectionFetches().record(counts.getCollectionFetches());
+        }
+    }
+
+    private DistributionSummary summary(String name, String uri, String method) {
+        return DistributionSummary.builder(name)
+                .tag("uri", uri)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record Summaries(DistributionSummary statements, DistributionSummary entityLoads,
+                             DistributionSummary collectionFetches) {
+    }
+}
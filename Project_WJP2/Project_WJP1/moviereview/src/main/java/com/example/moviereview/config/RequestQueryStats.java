@@ -0,0 +1,141 @@
+package com.example.moviereview.config;
+
+import java.util.List;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Counts the SQL statements, entity loads and collection fetches made on the current thread while a
+// scope is open. Hibernate's own statistics are global, so they cannot tell requests apart.
+// RequestMetricsFilter opens one scope per request; scopes nest, and every open scope sees the work.
+// Only Hibernate-issued SQL is seen, plain JdbcTemplate batches are not.
+@Configuration
+public class RequestQueryStats {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestQueryStats.class);
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    public static final class Counts implements AutoCloseable {
+        private final Counts parent;
+        private long statements;
+        private long entityLoads;
+        private long collectionFetches;
+
+        // statement budget, negative for none (see SqlBudget)
+        private int budget = -1;
+        private String budgetOwner;
+        private boolean budgetReported;
+
+        private Counts(Counts parent) {
+            this.parent = parent;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntityLoads() {
+            return entityLoads;
+        }
+
+        public long getCollectionFetches() {
+            return collectionFetches;
+        }
+
+        public void setBudget(int budget, String owner) {
+            this.budget = budget;
+            this.budgetOwner = owner;
+        }
+
+        @Override
+        public void close() {
+            end(this);
+        }
+    }
+
+    // Starts counting on this thread until the returned scope is closed
+    public static Counts begin() {
+        Counts counts = new Counts(CURRENT.get());
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    public static void end(Counts counts) {
+        if (counts.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(counts.parent);
+        }
+    }
+
+    // innermost open scope, or null
+    public static Counts current() {
+        return CURRENT.get();
+    }
+
+    // app.sql.budget.fail=true throws SqlBudgetExceededException on the statement that goes over
+    // budget; otherwise the first overrun per scope is logged as a warning
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatsCustomizer(@Value("${app.sql.budget.fail:false}") boolean failOnBudget) {
+        StatementInspector inspector = sql -> {
+            for (Counts counts = CURRENT.get(); counts != null; counts = counts.parent) {
+                counts.statements++;
+                if (counts.budget >= 0 && counts.statements > counts.budget) {
+                    overBudget(counts, sql, failOnBudget);
+                }
+            }
+            return sql;
+        };
+        return properties -> {
+            properties.put("hibernate.session_factory.statement_inspector", inspector);
+            properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(new ListenerIntegrator()));
+        };
+    }
+
+    private static void overBudget(Counts counts, String sql, boolean fail) {
+        if (fail) {
+            throw new SqlBudgetExceededException(counts.budgetOwner, counts.budget, sql);
+        }
+        if (!counts.budgetReported) {
+            counts.budgetReported = true;
+            log.warn("{} went over its budget of {} SQL statements, next statement: {}", counts.budgetOwner, counts.budget, sql);
+        }
+    }
+
+    private static final class ListenerIntegrator implements Integrator {
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> {
+                for (Counts counts = CURRENT.get(); counts != null; counts = counts.parent) {
+                    counts.entityLoads++;
+                }
+            });
+            registry.appendListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event -> {
+                for (Counts counts = CURRENT.get(); counts != null; counts = counts.parent) {
+                    counts.collectionFetches++;
+                }
+            });
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.moviereview.config;
+
+import lombok.Getter;
+
+// Thrown when a bounded resource (queue, worker pool) is full; answered with 503 and Retry-After
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
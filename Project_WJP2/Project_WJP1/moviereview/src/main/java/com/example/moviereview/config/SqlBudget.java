@@ -0,0 +1,17 @@
+package com.example.moviereview.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Most SQL statements one call of the annotated controller method may issue, counting the whole
+// request (token checks included). Overruns are logged, or fail the request with
+// app.sql.budget.fail=true, which the tests turn on.
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int value();
+}
@@ -0,0 +1,32 @@
+package com.example.moviereview.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Hands the handler's @SqlBudget to the request's statement counter
+@Configuration
+public class SqlBudgetConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                RequestQueryStats.Counts counts = RequestQueryStats.current();
+                if (counts != null && handler instanceof HandlerMethod method) {
+                    SqlBudget budget = method.getMethodAnnotation(SqlBudget.class);
+                    if (budget != null) {
+                        counts.setBudget(budget.value(), method.getShortLogMessage());
+                    }
+                }
+                return true;
+            }
+        });
+    }
+}
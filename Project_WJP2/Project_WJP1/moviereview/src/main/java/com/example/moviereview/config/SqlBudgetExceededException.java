@@ -0,0 +1,9 @@
+package com.example.moviereview.config;
+
+// Thrown when a request issues more SQL statements than its SqlBudget allows (app.sql.budget.fail=true)
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String owner, int budget, String sql) {
+        super(owner + " exceeded its budget of " + budget + " SQL statements at: " + sql);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.moviereview.config;
+
+import lombok.Getter;
+
+// Thrown when a caller is over a rate limit; answered with 429 and Retry-After
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
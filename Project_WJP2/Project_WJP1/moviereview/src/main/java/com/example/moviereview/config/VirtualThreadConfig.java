@@ -0,0 +1,46 @@
+package com.example.moviereview.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// spring.threads.virtual.enabled=true moves Tomcat requests and Spring's task executors onto
+// virtual threads. JDBC is then the scarce resource, so the DataSource gets a bulkhead sized
+// to the connection pool.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcBulkhead(Environment env) {
+        int poolSize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        long timeoutMs = env.getProperty("app.jdbc.bulkhead.acquireTimeoutMs", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, poolSize, timeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BulkheadDataSource bulkhead) {
+                Gauge.builder("jdbc.bulkhead.in.use", bulkhead, BulkheadDataSource::getInUse).register(registry);
+                Gauge.builder("jdbc.bulkhead.waiting", bulkhead, BulkheadDataSource::getWaiting).register(registry);
+                Gauge.builder("jdbc.bulkhead.max", bulkhead, BulkheadDataSource::getMaxConcurrent).register(registry);
+            }
+        };
+    }
+}
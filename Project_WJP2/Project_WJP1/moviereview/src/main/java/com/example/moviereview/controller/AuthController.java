@@ -1,9 +1,12 @@
 package com.example.moviereview.controller;
 
+import com.example.moviereview.config.SqlBudget;
 import com.example.moviereview.dto.*;
+import com.example.moviereview.security.AuthRateLimiter;
 import com.example.moviereview.service.AuthService;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter rateLimiter;
 
     @Value("${admin.secret.key}")
     private String adminSecretKey;
@@ -25,8 +29,11 @@ public class AuthController {
     }
 
 
+    @SqlBudget(2)
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request, HttpServletRequest http) {
+        // 429 before any hashing when this client or email is over its limit
+        rateLimiter.acquire("register", http.getRemoteAddr(), request.getEmail());
         if ("admin".equalsIgnoreCase(request.getRole())) {
             if (!adminSecretKey.equals(request.getAdminKey())) {
                 return ResponseEntity.status(403).body("Invalid Admin Secret Key");
@@ -36,8 +43,11 @@ public class AuthController {
         return ResponseEntity.ok(authService.register(request));
     }
 
+    // one more statement when the stored hash is re-encoded at the current BCrypt cost
+    @SqlBudget(3)
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest http) {
+        rateLimiter.acquire("login", http.getRemoteAddr(), request.getEmail());
         return ResponseEntity.ok(authService.login(request));
     }
 }
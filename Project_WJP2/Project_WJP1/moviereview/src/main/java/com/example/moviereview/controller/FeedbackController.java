@@ -1,8 +1,13 @@
 package com.example.moviereview.controller;
 
+import com.example.moviereview.config.SqlBudget;
+import com.example.moviereview.dto.FeedbackRequest;
 import com.example.moviereview.model.Feedback;
 import com.example.moviereview.service.FeedbackService;
+
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -12,8 +17,16 @@ public class FeedbackController {
     @Autowired
     private FeedbackService feedbackService;
 
+    // 202 once queued for the background writer (app.feedback.async), 200 with the saved row otherwise;
+    // 400 for invalid fields, 503 with Retry-After while the queue is full
+    @SqlBudget(1)
     @PostMapping
-    public Feedback submitFeedback(@RequestBody Feedback feedback) {
-        return feedbackService.saveFeedback(feedback);
+    public ResponseEntity<Feedback> submitFeedback(@Valid @RequestBody FeedbackRequest request) {
+        Feedback feedback = new Feedback(request.getName(), request.getEmail(), request.getMessage());
+        if (feedbackService.isAsync()) {
+            feedbackService.submit(feedback);
+            return ResponseEntity.accepted().build();
+        }
+        return ResponseEntity.ok(feedbackService.saveFeedback(feedback));
     }
 }
@@ -1,7 +1,13 @@
 package com.example.moviereview.controller;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,10 +18,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.example.moviereview.config.SqlBudget;
+import com.example.moviereview.dto.DeletionJobDTO;
+import com.example.moviereview.dto.LeaderboardEntryDTO;
 import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.SearchHitDTO;
+import com.example.moviereview.service.ContentVersionService;
+import com.example.moviereview.service.MovieDeletionService;
+import com.example.moviereview.service.MovieEventService;
+import com.example.moviereview.service.MovieLeaderboardService;
+import com.example.moviereview.service.MovieRatingService;
+import com.example.moviereview.service.MovieSearchService;
 import com.example.moviereview.service.MovieService;
+import com.example.moviereview.service.ResponseBodyCache;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -27,24 +47,86 @@ import lombok.RequiredArgsConstructor;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MovieDeletionService deletionService;
+    private final MovieSearchService searchService;
+    private final MovieLeaderboardService leaderboards;
+    private final MovieRatingService ratingService;
+    private final ContentVersionService versions;
+    private final ResponseBodyCache responses;
+    private final MovieEventService movieEvents;
 
+    // Paged by default; ?all=true keeps the old unpaginated list for existing clients.
+    // One statement, two when a rating-sorted page runs out of rated movies and continues with unrated ones
+    @SqlBudget(2)
     @GetMapping
-    public ResponseEntity<List<MovieDTO>> getAll() {
-        return ResponseEntity.ok(movieService.getAll());
+    public ResponseEntity<byte[]> getAll(
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestParam(defaultValue = "title") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
+    ) {
+        // Version is read before the data so a concurrent write can only make the ETag older, never newer
+        String etag = versions.catalogEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        String key = all ? "catalog" : "catalog:" + MovieService.pageKey(sort, cursor, limit);
+        return cachedJson(key, etag, request,
+                () -> all ? movieService.getAll() : movieService.getPage(sort, cursor, limit));
     }
 
+    // Public: typeahead search over titles and descriptions, best match first
+    @SqlBudget(0)
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchHitDTO>> search(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+
+    // Public: best-rated movies, Bayesian average so a handful of perfect scores cannot top the list;
+    // unrated movies follow the rated ones
+    @SqlBudget(0)
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntryDTO>> top(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(leaderboards.top(limit));
+    }
+
+    // Public: movies with the most reviews over the last few days
+    @SqlBudget(0)
+    @GetMapping("/trending")
+    public ResponseEntity<List<LeaderboardEntryDTO>> trending(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(leaderboards.trending(limit));
+    }
+
+    @SqlBudget(2)
     @GetMapping("/{id}")
-    public ResponseEntity<MovieDTO> getOne(@PathVariable Long id) {
-        return ResponseEntity.ok(movieService.getById(id));
+    public ResponseEntity<byte[]> getOne(@PathVariable Long id, WebRequest request) {
+        String etag = versions.movieEtag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return cachedJson("movie:" + id, etag, request, () -> movieService.getById(id));
+    }
+
+    // Public: live "review" and "rating" events for a movie page; "resync" means refetch the reviews
+    @SqlBudget(1)
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long id) {
+        return movieEvents.subscribe(id);
     }
 
     @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(5)
     @PostMapping
     public ResponseEntity<MovieDTO> create(@Valid @RequestBody MovieDTO dto) {
         return ResponseEntity.ok(movieService.create(dto));
     }
 
     @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(5)
     @PutMapping("/{id}")
     public ResponseEntity<MovieDTO> update(
             @PathVariable Long id,
@@ -53,10 +135,47 @@ public class MovieController {
         return ResponseEntity.ok(movieService.update(id, dto));
     }
 
+    // ADMIN only: 204 when done; movies with many reviews are deleted in the background (202 + job to poll)
     @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(10)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        movieService.delete(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeletionJobDTO> delete(@PathVariable Long id) {
+        return deletionService.delete(id)
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create("/api/movies/deletions/" + job.getId()))
+                        .body(job))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    // ADMIN only: progress of a background movie deletion
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(1)
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<DeletionJobDTO> getDeletion(@PathVariable String jobId) {
+        return ResponseEntity.ok(deletionService.getJob(jobId));
+    }
+
+    // Ready-made JSON for the current version of the content, gzipped when the client accepts it
+    private ResponseEntity<byte[]> cachedJson(String key, String etag, WebRequest request,
+                                              Supplier<?> body) {
+        ResponseBodyCache.Payload payload = responses.get(key, etag, body);
+        boolean gzip = payload.gzip() != null
+                && ResponseBodyCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? payload.gzip() : payload.json());
+    }
+
+    // ADMIN only: recompute every movie's rating totals from the reviews table
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRatings() {
+        return ResponseEntity.ok(Map.of("movies", ratingService.rebuildAll()));
     }
 }
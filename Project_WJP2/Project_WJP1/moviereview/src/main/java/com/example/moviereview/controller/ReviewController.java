@@ -2,13 +2,21 @@ package com.example.moviereview.controller;
 
 import java.util.List;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.moviereview.config.SqlBudget;
 import com.example.moviereview.dto.RatingCountDTO;
 import com.example.moviereview.dto.ReviewDTO;
+import com.example.moviereview.dto.ReviewImportResult;
+import com.example.moviereview.service.ContentVersionService;
+import com.example.moviereview.service.ReviewImportService;
 import com.example.moviereview.service.ReviewService;
 
 import lombok.RequiredArgsConstructor;
@@ -20,30 +28,71 @@ import lombok.RequiredArgsConstructor;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final ReviewImportService reviewImportService;
+    private final ContentVersionService versions;
 
-    // Public: List reviews for a given movie
+    // Public: List reviews for a given movie, newest first, one page at a time (?all=true for the full list)
+    @SqlBudget(1)
     @GetMapping("/movie/{movieId}")
-    public ResponseEntity<List<ReviewDTO>> getByMovie(@PathVariable Long movieId) {
-        return ResponseEntity.ok(reviewService.getByMovie(movieId));
+    public ResponseEntity<?> getByMovie(
+            @PathVariable Long movieId,
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
+    ) {
+        String etag = versions.movieReviewsEtag(movieId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Object body = all ? reviewService.getByMovie(movieId) : reviewService.getMoviePage(movieId, cursor, limit);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
     }
 
     // Protected: Add a review (USER or ADMIN)
     @PreAuthorize("hasAnyAuthority('USER','ADMIN')")
+    @SqlBudget(5)
     @PostMapping
     public ResponseEntity<?> addReview(@RequestBody ReviewDTO reviewDto, Authentication authentication) {
         var savedReview = reviewService.create(reviewDto, authentication);
         return ResponseEntity.ok(savedReview);
     }
 
+    // ADMIN only: Bulk-load reviews (e.g. from partner sites); bad rows are reported and skipped.
+    // No @SqlBudget on purpose: the rows go in as JDBC batches, which the budget never sees, and the
+    // id lookups and rating updates it would count grow with the distinct movies and users in the
+    // batch (up to ReviewImportService.MAX_ROWS), so no fixed limit fits.
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/import")
+    public ResponseEntity<ReviewImportResult> importReviews(@RequestBody List<ReviewDTO> reviews) {
+        return ResponseEntity.ok(reviewImportService.importReviews(reviews));
+    }
+
     // ADMIN only: View all reviews
     @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(2)
     @GetMapping
     public ResponseEntity<List<ReviewDTO>> getAll() {
         return ResponseEntity.ok(reviewService.getAll());
     }
 
+    // ADMIN only: Stream all reviews as newline-delimited JSON
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = reviewService::exportAll;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header("Content-Disposition", "attachment; filename=reviews.ndjson")
+                .body(body);
+    }
+
     // ADMIN only: Delete a review
     @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(4)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         reviewService.delete(id);
@@ -68,14 +117,24 @@ public class ReviewController {
 
     // Temporarily simplify @PreAuthorize to test access (remove userId check)
     @PreAuthorize("hasAnyAuthority('USER','ADMIN')")
+    @SqlBudget(2)
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ReviewDTO>> getUserReviews(@PathVariable Long userId) {
-        List<ReviewDTO> reviews = reviewService.findReviewsByUserId(userId);
-        return ResponseEntity.ok(reviews);
+    public ResponseEntity<?> getUserReviews(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean all,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (all) {
+            List<ReviewDTO> reviews = reviewService.findReviewsByUserId(userId);
+            return ResponseEntity.ok(reviews);
+        }
+        return ResponseEntity.ok(reviewService.getUserPage(userId, cursor, limit));
     }
 
    
 
+    @SqlBudget(1)
     @GetMapping("/movie/{movieId}/ratings-count")
     public ResponseEntity<List<RatingCountDTO>> getRatingCountsByMovie(@PathVariable Long movieId) {
         List<RatingCountDTO> ratingCounts = reviewService.getRatingCountsByMovie(movieId);
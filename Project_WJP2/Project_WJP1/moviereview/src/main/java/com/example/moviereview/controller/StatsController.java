@@ -0,0 +1,58 @@
+package com.example.moviereview.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.moviereview.config.SqlBudget;
+import com.example.moviereview.security.VerifiedTokenCache;
+import com.example.moviereview.service.ResponseBodyCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final VerifiedTokenCache tokenCache;
+    private final CacheManager cacheManager;
+    private final ResponseBodyCache responses;
+
+    // ADMIN only: hit/miss/eviction counters of the in-process caches
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(1)
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Map<String, Object>>> caches() {
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        caches.put("verifiedTokens", describe(tokenCache.stats(), tokenCache.size()));
+        Map<String, Object> responseBodies = describe(responses.stats(), responses.size());
+        responseBodies.put("bytes", responses.weightInBytes());
+        caches.put("responseBodies", responseBodies);
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+                caches.put(name, describe(caffeine.stats(), caffeine.estimatedSize()));
+            }
+        }
+        return ResponseEntity.ok(caches);
+    }
+
+    private static Map<String, Object> describe(CacheStats stats, long size) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("size", size);
+        out.put("hits", stats.hitCount());
+        out.put("misses", stats.missCount());
+        out.put("hitRatio", stats.hitRate());
+        out.put("evictions", stats.evictionCount());
+        return out;
+    }
+}
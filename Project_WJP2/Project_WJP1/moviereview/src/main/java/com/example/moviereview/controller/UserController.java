@@ -1,5 +1,6 @@
 package com.example.moviereview.controller;
 
+import com.example.moviereview.config.SqlBudget;
 import com.example.moviereview.model.User;
 import com.example.moviereview.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class UserController {
 
     // ADMIN only: List all users
     @PreAuthorize("hasAuthority('ADMIN')")
+    @SqlBudget(2)
     @GetMapping
     public ResponseEntity<List<User>> getAll() {
         return ResponseEntity.ok(userService.getAll());
@@ -0,0 +1,26 @@
+package com.example.moviereview.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeletionJobDTO {
+    private String id;
+    private Long movieId;
+
+    // RUNNING, DONE or FAILED
+    private String status;
+
+    // reviews the movie had when the job started, and how many are gone so far
+    private long totalReviews;
+    private long deletedReviews;
+
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,23 @@
+package com.example.moviereview.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+// Contact-form submission; checked up front because queued rows are only written later
+@Data
+public class FeedbackRequest {
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+
+    @Email
+    @NotBlank
+    @Size(max = 255)
+    private String email;
+
+    @NotBlank
+    @Size(max = 2000)
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.example.moviereview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryDTO {
+    private Long id;
+    private String title;
+    private String posterUrl;
+
+    // plain average over all reviews, null while unrated
+    private Double averageRating;
+
+    // all reviews on /top, reviews inside the trending window on /trending
+    private long reviewCount;
+
+    // what the list is ordered by: Bayesian average on /top (0 while unrated), reviews per day on /trending
+    private double score;
+}
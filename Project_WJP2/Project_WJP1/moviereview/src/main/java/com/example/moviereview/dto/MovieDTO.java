@@ -1,18 +1,23 @@
 package com.example.moviereview.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 import jakarta.validation.constraints.NotBlank;
-import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.Value;
 
-@Data
+// Immutable: the read caches hand the same instance to every caller
+@Value
+@AllArgsConstructor(onConstructor_ = @JsonCreator)
 public class MovieDTO {
-    private Long id; // for updates
+    Long id; // for updates
 
     @NotBlank
-    private String title;
+    String title;
 
-    private String description;
-    private String posterUrl;
+    String description;
+    String posterUrl;
 
     
-    private Double averageRating;
+    Double averageRating;
 }
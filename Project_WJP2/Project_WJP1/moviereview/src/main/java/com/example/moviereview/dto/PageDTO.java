@@ -0,0 +1,19 @@
+package com.example.moviereview.dto;
+
+import java.util.List;
+
+import lombok.Value;
+
+// Immutable, like MovieDTO, since catalog pages are cached
+@Value
+public class PageDTO<T> {
+    List<T> items;
+
+    // pass back as ?cursor= to get the next page, null on the last page
+    String nextCursor;
+
+    public PageDTO(List<T> items, String nextCursor) {
+        this.items = List.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.moviereview.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Pushed on /api/movies/{id}/events whenever the movie's reviews change
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RatingSummaryDTO {
+    private Long movieId;
+
+    // null while the movie has no reviews
+    private Double averageRating;
+    private long reviewCount;
+
+    // same shape as /api/reviews/movie/{id}/ratings-count
+    private List<RatingCountDTO> histogram;
+}
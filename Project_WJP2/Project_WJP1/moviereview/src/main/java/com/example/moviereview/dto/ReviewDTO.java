@@ -1,12 +1,18 @@
 package com.example.moviereview.dto;
 
+import java.time.LocalDateTime;
+
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@AllArgsConstructor
+@NoArgsConstructor
 public class ReviewDTO {
     private Long id;
     private String userName; 
@@ -25,4 +31,7 @@ public class ReviewDTO {
     @Min(value = 0, message = "rating must be ≥ 0")
     @Max(value = 5, message = "rating must be ≤ 5")
     private Double rating;
+
+    // set by the server, ignored on create
+    private LocalDateTime createdAt;
 }
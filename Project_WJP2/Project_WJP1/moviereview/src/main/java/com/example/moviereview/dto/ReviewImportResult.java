@@ -0,0 +1,28 @@
+package com.example.moviereview.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewImportResult {
+    private int received;
+    private int imported;
+    private long elapsedMs;
+    private double rowsPerSecond;
+
+    // rows that were skipped, by their position in the request
+    private List<Reject> rejected;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Reject {
+        private int index;
+        private String reason;
+    }
+}
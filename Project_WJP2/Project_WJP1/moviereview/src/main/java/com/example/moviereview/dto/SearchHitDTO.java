@@ -0,0 +1,17 @@
+package com.example.moviereview.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHitDTO {
+    private Long id;
+    private String title;
+    private String posterUrl;
+
+    // higher is better; only meaningful within one result list
+    private double score;
+}
@@ -0,0 +1,18 @@
+package com.example.moviereview.event;
+
+// Published by MovieService and MovieRatingService; listeners run after the transaction commits.
+// CREATED and UPDATED carry the saved title and poster, so listeners need not load the movie.
+public record MovieChangedEvent(Long movieId, Type type, String title, String posterUrl) {
+
+    public MovieChangedEvent(Long movieId, Type type) {
+        this(movieId, type, null, null);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        // every movie's rating totals were recomputed, movieId is null
+        RATINGS_REBUILT
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.moviereview.event;
+
+import com.example.moviereview.dto.ReviewDTO;
+
+// Published by ReviewService; listeners run after the transaction commits
+public record ReviewChangedEvent(ReviewDTO review, Type type) {
+
+    public enum Type {
+        ADDED,
+        REMOVED
+    }
+
+    public Long movieId() {
+        return review.getMovieId();
+    }
+}
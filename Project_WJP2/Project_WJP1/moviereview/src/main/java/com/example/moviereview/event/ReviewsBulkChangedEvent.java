@@ -0,0 +1,13 @@
+package com.example.moviereview.event;
+
+import java.util.Set;
+
+// Published by ReviewImportService and MovieDeletionService for set-based review writes;
+// listeners run after the transaction commits
+public record ReviewsBulkChangedEvent(Set<Long> movieIds, int count, Type type) {
+
+    public enum Type {
+        IMPORTED,
+        PURGED
+    }
+}
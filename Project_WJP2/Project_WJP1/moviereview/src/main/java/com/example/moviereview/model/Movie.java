@@ -4,11 +4,21 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+        @Index(name = "idx_movies_title_id", columnList = "title, id"),
+        // duplicate-title check is one probe here, and the database rejects racing duplicates
+        @Index(name = Movie.NORMALIZED_TITLE_INDEX, columnList = "normalized_title", unique = true)
+})
 @Data
 @NoArgsConstructor
 public class Movie {
+    public static final String NORMALIZED_TITLE_INDEX = "uk_movies_normalized_title";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -16,6 +26,10 @@ public class Movie {
     @Column(nullable = false)
     private String title;
 
+    // set from title on every write; nullable only so ddl-auto can add it to an existing table
+    @Column(name = "normalized_title")
+    private String normalizedTitle;
+
     @Column(length = 1000)
     private String description;
 
@@ -31,5 +45,24 @@ public Double getAverageRating() {
 public void setAverageRating(Double averageRating) {
     this.averageRating = averageRating;
 }
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @PrePersist
+    @PreUpdate
+    void normalizeTitle() {
+        normalizedTitle = normalizeTitle(title);
+    }
+
+    // "  The  Matrix!" and "the matrix" are the same title: case, accents, spacing and punctuation are ignored
+    public static String normalizeTitle(String title) {
+        if (title == null) {
+            return null;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(title, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+    }
 }
 
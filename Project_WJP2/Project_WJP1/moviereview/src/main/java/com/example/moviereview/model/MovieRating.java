@@ -0,0 +1,33 @@
+package com.example.moviereview.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running rating totals per movie, kept in step with the reviews table by ReviewService
+@Entity
+@Table(name = "movie_ratings",
+       indexes = @Index(name = "idx_movie_ratings_avg_movie", columnList = "average_rating, movie_id"))
+@Data
+@NoArgsConstructor
+public class MovieRating {
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(nullable = false)
+    private long reviewCount;
+
+    @Column(nullable = false)
+    private double ratingSum;
+
+    // null while the movie has no reviews
+    private Double averageRating;
+
+    public MovieRating(Long movieId, long reviewCount, double ratingSum) {
+        this.movieId = movieId;
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.averageRating = reviewCount > 0 ? ratingSum / reviewCount : null;
+    }
+}
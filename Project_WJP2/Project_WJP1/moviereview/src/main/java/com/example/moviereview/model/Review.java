@@ -7,7 +7,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_movie_created", columnList = "movie_id, created_at, id"),
+        @Index(name = "idx_reviews_user_created", columnList = "user_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 public class Review {
@@ -30,5 +33,7 @@ public class Review {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // part of the feed cursor, so never null; ReviewService backfills rows stored before the constraint
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 }
@@ -1,9 +1,12 @@
 package com.example.moviereview.model;
 
+import com.example.moviereview.security.UserChangeListener;
+
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
+@EntityListeners(UserChangeListener.class)
 @Data
 public class User {
     @Id
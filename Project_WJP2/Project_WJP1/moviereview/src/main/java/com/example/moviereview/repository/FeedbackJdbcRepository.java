@@ -0,0 +1,37 @@
+package com.example.moviereview.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.moviereview.model.Feedback;
+
+import lombok.RequiredArgsConstructor;
+
+// Batched inserts for the feedback write-behind queue, one multi-row INSERT per batch on MySQL
+@Repository
+@RequiredArgsConstructor
+public class FeedbackJdbcRepository {
+
+    private static final String INSERT = "INSERT INTO feedback (name, email, message, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    // Joins the caller's transaction
+    public void insertAll(List<Feedback> rows) {
+        jdbc.batchUpdate(INSERT, rows, rows.size(), FeedbackJdbcRepository::bind);
+    }
+
+    private static void bind(PreparedStatement ps, Feedback row) throws SQLException {
+        ps.setString(1, row.getName());
+        ps.setString(2, row.getEmail());
+        ps.setString(3, row.getMessage());
+        LocalDateTime createdAt = row.getCreatedAt() == null ? LocalDateTime.now() : row.getCreatedAt();
+        ps.setTimestamp(4, Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.moviereview.repository;
+
+import com.example.moviereview.model.MovieRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MovieRatingRepository extends JpaRepository<MovieRating, Long> {
+
+    // averageRating is assigned first so it is computed from the old totals on MySQL as well
+    @Modifying
+    @Query("UPDATE MovieRating s SET s.averageRating = (s.ratingSum + :rating) / (s.reviewCount + 1), " +
+           "s.reviewCount = s.reviewCount + 1, s.ratingSum = s.ratingSum + :rating " +
+           "WHERE s.movieId = :movieId")
+    int addRating(@Param("movieId") Long movieId, @Param("rating") double rating);
+
+    // Same as addRating for several reviews of one movie at once
+    @Modifying
+    @Query("UPDATE MovieRating s SET s.averageRating = (s.ratingSum + :sum) / (s.reviewCount + :count), " +
+           "s.reviewCount = s.reviewCount + :count, s.ratingSum = s.ratingSum + :sum " +
+           "WHERE s.movieId = :movieId")
+    int addRatings(@Param("movieId") Long movieId, @Param("count") long count, @Param("sum") double sum);
+
+    @Modifying
+    @Query("UPDATE MovieRating s SET s.averageRating = CASE WHEN s.reviewCount <= 1 THEN NULL " +
+           "ELSE (s.ratingSum - :rating) / (s.reviewCount - 1) END, " +
+           "s.reviewCount = s.reviewCount - 1, s.ratingSum = s.ratingSum - :rating " +
+           "WHERE s.movieId = :movieId AND s.reviewCount > 0")
+    int removeRating(@Param("movieId") Long movieId, @Param("rating") double rating);
+
+    @Modifying
+    @Query("UPDATE MovieRating s SET s.averageRating = CASE WHEN s.reviewCount <= :count THEN NULL " +
+           "ELSE (s.ratingSum - :sum) / (s.reviewCount - :count) END, " +
+           "s.reviewCount = s.reviewCount - :count, s.ratingSum = s.ratingSum - :sum " +
+           "WHERE s.movieId = :movieId AND s.reviewCount >= :count")
+    int removeRatings(@Param("movieId") Long movieId, @Param("count") long count, @Param("sum") double sum);
+}
@@ -1,8 +1,65 @@
 package com.example.moviereview.repository;
 
+import com.example.moviereview.dto.MovieDTO;
 import com.example.moviereview.model.Movie;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
-    boolean existsByTitleIgnoreCase(String title);
+
+    String CATALOG_SELECT = "SELECT new com.example.moviereview.dto.MovieDTO(" +
+            "m.id, m.title, m.description, m.posterUrl, s.averageRating) ";
+
+    boolean existsByNormalizedTitle(String normalizedTitle);
+
+    boolean existsByNormalizedTitleAndIdNot(String normalizedTitle, Long id);
+
+    @Query("SELECT m.normalizedTitle FROM Movie m WHERE m.normalizedTitle IS NOT NULL")
+    List<String> findAllNormalizedTitles();
+
+    List<Movie> findByNormalizedTitleIsNull();
+
+    @Query("SELECT m.id FROM Movie m")
+    List<Long> findAllIds();
+
+    @Query("SELECT m.id FROM Movie m WHERE m.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Whole catalog with averages in one statement, built straight into DTOs
+    @Query(CATALOG_SELECT + "FROM Movie m LEFT JOIN MovieRating s ON s.movieId = m.id")
+    List<MovieDTO> findCatalog();
+
+    // Keyset pages: each query seeks past the previous page's last key, so page N costs the same as page 1
+
+    @Query(CATALOG_SELECT + "FROM Movie m LEFT JOIN MovieRating s ON s.movieId = m.id " +
+           "WHERE m.id > :afterId ORDER BY m.id")
+    List<MovieDTO> findCatalogPageById(@Param("afterId") long afterId, Limit limit);
+
+    @Query(CATALOG_SELECT + "FROM Movie m LEFT JOIN MovieRating s ON s.movieId = m.id " +
+           "ORDER BY m.title, m.id")
+    List<MovieDTO> findCatalogPageByTitle(Limit limit);
+
+    @Query(CATALOG_SELECT + "FROM Movie m LEFT JOIN MovieRating s ON s.movieId = m.id " +
+           "WHERE m.title > :title OR (m.title = :title AND m.id > :afterId) ORDER BY m.title, m.id")
+    List<MovieDTO> findCatalogPageByTitle(@Param("title") String title, @Param("afterId") long afterId, Limit limit);
+
+    // Rating order walks the rated movies best-first, then the unrated ones by id
+
+    @Query(CATALOG_SELECT + "FROM MovieRating s JOIN Movie m ON m.id = s.movieId " +
+           "WHERE s.averageRating IS NOT NULL ORDER BY s.averageRating DESC, s.movieId DESC")
+    List<MovieDTO> findCatalogPageByRating(Limit limit);
+
+    @Query(CATALOG_SELECT + "FROM MovieRating s JOIN Movie m ON m.id = s.movieId " +
+           "WHERE s.averageRating < :rating OR (s.averageRating = :rating AND s.movieId < :beforeId) " +
+           "ORDER BY s.averageRating DESC, s.movieId DESC")
+    List<MovieDTO> findCatalogPageByRating(@Param("rating") double rating, @Param("beforeId") long beforeId, Limit limit);
+
+    @Query(CATALOG_SELECT + "FROM MovieRating s JOIN Movie m ON m.id = s.movieId " +
+           "WHERE s.averageRating IS NULL AND s.movieId > :afterId ORDER BY s.movieId")
+    List<MovieDTO> findUnratedCatalogPage(@Param("afterId") long afterId, Limit limit);
 }
@@ -0,0 +1,52 @@
+package com.example.moviereview.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+// Plain JDBC batch writes for reviews. Hibernate will not batch inserts of IDENTITY entities,
+// but the driver does: with rewriteBatchedStatements each batch goes to MySQL as one multi-row INSERT
+// and the database still hands out the ids.
+@Repository
+@RequiredArgsConstructor
+public class ReviewJdbcRepository {
+
+    public static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT = "INSERT INTO reviews (movie_id, user_id, user_name, comment, rating, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    public record Row(long movieId, long userId, String userName, String comment, double rating, LocalDateTime createdAt) {
+    }
+
+    // Joins the caller's transaction; returns the number of rows written
+    public int insertAll(List<Row> rows) {
+        int[][] counts = jdbc.batchUpdate(INSERT, rows, BATCH_SIZE, ReviewJdbcRepository::bind);
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // drivers that rewrite batches report SUCCESS_NO_INFO (-2) per row
+                inserted += count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement ps, Row row) throws SQLException {
+        ps.setLong(1, row.movieId());
+        ps.setLong(2, row.userId());
+        ps.setString(3, row.userName());
+        ps.setString(4, row.comment());
+        ps.setDouble(5, row.rating());
+        ps.setTimestamp(6, Timestamp.valueOf(row.createdAt()));
+    }
+}
@@ -1,21 +1,106 @@
 package com.example.moviereview.repository;
 
+import com.example.moviereview.dto.ReviewDTO;
 import com.example.moviereview.model.Review;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    List<Review> findByMovieId(Long movieId);
+    // Read paths build DTOs in the query: no managed entities, and the author name falls back to the
+    // users row in SQL instead of a lazy load per review
+    String DTO_SELECT = "SELECT new com.example.moviereview.dto.ReviewDTO(" +
+            "r.id, COALESCE(r.userName, u.name), r.movie.id, u.id, r.comment, r.rating, r.createdAt) " +
+            "FROM Review r JOIN r.user u ";
+
+    @Query(DTO_SELECT)
+    List<ReviewDTO> findAllDtos();
+
+    @Query(DTO_SELECT + "WHERE r.movie.id = :movieId")
+    List<ReviewDTO> findDtosByMovieId(@Param("movieId") Long movieId);
+
+    @Query(DTO_SELECT + "WHERE u.id = :userId")
+    List<ReviewDTO> findDtosByUserId(@Param("userId") Long userId);
+
+    // One DELETE statement; the derived deleteByMovieId loaded and removed every review one by one
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.movie.id = :movieId")
+    int deleteByMovieId(@Param("movieId") Long movieId);
+
+    long countByMovieId(Long movieId);
+
+    // [id, rating, createdAt] of the movie's oldest reviews, one chunk of a chunked delete. Ordered the
+    // way the (movie_id, created_at, id) index is, so a chunk reads its rows instead of sorting the rest
+    @Query("SELECT r.id, r.rating, r.createdAt FROM Review r WHERE r.movie.id = :movieId ORDER BY r.createdAt, r.id")
+    List<Object[]> findIdsAndRatingsByMovie(@Param("movieId") Long movieId, Limit limit);
+
+    @Query("SELECT r.id, r.rating, r.createdAt FROM Review r WHERE r.movie.id = :movieId " +
+           "AND (r.createdAt > :createdAt OR (r.createdAt = :createdAt AND r.id > :afterId)) " +
+           "ORDER BY r.createdAt, r.id")
+    List<Object[]> findIdsAndRatingsByMovie(@Param("movieId") Long movieId, @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("afterId") long afterId, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 
     @Transactional
-    void deleteByMovieId(Long movieId);
+    @Modifying
+    @Query("UPDATE Review r SET r.createdAt = :createdAt WHERE r.createdAt IS NULL")
+    int fillMissingCreatedAt(@Param("createdAt") LocalDateTime createdAt);
 
-     List<Review> findByUserId(Long userId);
-     @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.movie.id = :movieId GROUP BY r.rating ORDER BY r.rating DESC")
+    @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.movie.id = :movieId GROUP BY r.rating ORDER BY r.rating DESC")
     List<Object[]> countReviewsByRatingForMovie(@Param("movieId") Long movieId);
+
+    // Forward-only cursor over every review as DTOs; needs useCursorFetch on MySQL so the fetch size is honoured
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT)
+    Stream<ReviewDTO> streamAllDtos();
+
+    // Keyset feeds, newest first; served by the (movie_id|user_id, created_at, id) indexes
+
+    @Query(DTO_SELECT + "WHERE r.movie.id = :movieId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewDTO> findMovieFeed(@Param("movieId") Long movieId, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE r.movie.id = :movieId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :beforeId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewDTO> findMovieFeed(@Param("movieId") Long movieId, @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("beforeId") long beforeId, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE r.user.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewDTO> findUserFeed(@Param("userId") Long userId, Limit limit);
+
+    @Query(DTO_SELECT + "WHERE r.user.id = :userId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :beforeId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewDTO> findUserFeed(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("beforeId") long beforeId, Limit limit);
+
+    // [movieId, review count, rating sum] per movie, used to (re)build movie_ratings
+    @Query("SELECT r.movie.id, COUNT(r), SUM(r.rating) FROM Review r GROUP BY r.movie.id")
+    List<Object[]> sumRatingsByMovie();
+
+    @Query("SELECT r.movie.id, COUNT(r), SUM(r.rating) FROM Review r WHERE r.movie.id = :movieId GROUP BY r.movie.id")
+    List<Object[]> sumRatingsForMovie(@Param("movieId") Long movieId);
+
+    // [movieId, createdAt] of recent reviews, for the trending leaderboard
+    @Query("SELECT r.movie.id, r.createdAt FROM Review r WHERE r.createdAt >= :since")
+    List<Object[]> findRecentActivity(@Param("since") LocalDateTime since);
+
+    @Query("SELECT r.movie.id, r.createdAt FROM Review r WHERE r.movie.id IN :movieIds AND r.createdAt >= :since")
+    List<Object[]> findRecentActivity(@Param("movieIds") Collection<Long> movieIds, @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,154 @@
+package com.example.moviereview.security;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.moviereview.config.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Token buckets in front of login and registration, so a credential-stuffing burst is turned away
+// before any BCrypt work. One bucket per client address and one per email; an attempt needs a token
+// from both. The client address is the servlet remote address (behind a proxy, enable
+// server.forward-headers-strategy so it is the real client).
+@Component
+public class AuthRateLimiter {
+
+    private final Limiter byIp;
+    private final Limiter byEmail;
+    private final MeterRegistry meterRegistry;
+    // one counter per endpoint, outcome and limit, registered on first use
+    private final ConcurrentMap<String, Counter> attempts = new ConcurrentHashMap<>();
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.auth.rateLimit.ip.capacity:20}") int ipCapacity,
+                           @Value("${app.auth.rateLimit.ip.perMinute:10}") double ipPerMinute,
+                           @Value("${app.auth.rateLimit.email.capacity:5}") int emailCapacity,
+                           @Value("${app.auth.rateLimit.email.perMinute:2}") double emailPerMinute,
+                           @Value("${app.auth.rateLimit.maxKeys:100000}") int maxKeys) {
+        this.meterRegistry = meterRegistry;
+        this.byIp = new Limiter(ipCapacity, ipPerMinute, maxKeys, System::nanoTime);
+        this.byEmail = new Limiter(emailCapacity, emailPerMinute, maxKeys, System::nanoTime);
+        Gauge.builder("auth.rate.limit.keys", byIp, Limiter::size).tag("limit", "ip").register(meterRegistry);
+        Gauge.builder("auth.rate.limit.keys", byEmail, Limiter::size).tag("limit", "email").register(meterRegistry);
+    }
+
+    // Takes one attempt from the client's and the account's buckets, or throws when either is empty
+    public void acquire(String endpoint, String clientIp, String email) {
+        long waitNanos = byIp.tryAcquire(clientIp == null ? "" : clientIp);
+        String limit = "ip";
+        if (waitNanos == 0) {
+            waitNanos = byEmail.tryAcquire(email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+            limit = "email";
+        }
+        if (waitNanos > 0) {
+            attempts(endpoint, "rejected", limit).increment();
+            throw new TooManyRequestsException("Too many attempts, please try again later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+        attempts(endpoint, "admitted", "none").increment();
+    }
+
+    private Counter attempts(String endpoint, String outcome, String limit) {
+        return attempts.computeIfAbsent(endpoint + '|' + outcome + '|' + limit, k -> Counter.builder("auth.rate.limit.attempts")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .tag("limit", limit)
+                .register(meterRegistry));
+    }
+
+    // Token buckets keyed by string, spread over a fixed number of locked stripes. Each stripe is an
+    // access-ordered map holding at most maxKeys / STRIPES buckets, so memory is bounded and the least
+    // recently used key goes first. A bucket idle long enough to have refilled completely is dropped as
+    // soon as it is the eldest, since a fresh bucket would behave the same.
+    static final class Limiter {
+
+        private static final int STRIPES = 64;
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private final long idleNanos;
+        private final LongSupplier clock;
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        Limiter(int capacity, double perMinute, int maxKeys, LongSupplier clock) {
+            this.capacity = capacity;
+            this.tokensPerNano = perMinute / TimeUnit.MINUTES.toNanos(1);
+            this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+            this.clock = clock;
+            int perStripe = Math.max(1, maxKeys / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(perStripe);
+            }
+        }
+
+        // 0 when a token was taken, otherwise the nanos until one is available
+        long tryAcquire(String key) {
+            int h = key.hashCode();
+            Stripe stripe = stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+            synchronized (stripe) {
+                long now = clock.getAsLong();
+                stripe.now = now;
+                Bucket bucket = stripe.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket(capacity, now);
+                    stripe.put(key, bucket);
+                } else {
+                    bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.updatedNanos) * tokensPerNano);
+                    bucket.updatedNanos = now;
+                }
+                if (bucket.tokens >= 1) {
+                    bucket.tokens -= 1;
+                    return 0;
+                }
+                return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    size += stripe.size();
+                }
+            }
+            return size;
+        }
+
+        private static final class Bucket {
+            double tokens;
+            long updatedNanos;
+
+            Bucket(double tokens, long updatedNanos) {
+                this.tokens = tokens;
+                this.updatedNanos = updatedNanos;
+            }
+        }
+
+        private final class Stripe extends LinkedHashMap<String, Bucket> {
+            private final int maxKeys;
+            // clock reading of the access in progress, for the idle check below
+            long now;
+
+            Stripe(int maxKeys) {
+                super(16, 0.75f, true);
+                this.maxKeys = maxKeys;
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxKeys || now - eldest.getValue().updatedNanos >= idleNanos;
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,7 +14,7 @@ import com.example.moviereview.model.User;
 import com.example.moviereview.repository.UserRepository;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepo;
@@ -30,4 +31,12 @@ public class CustomUserDetailsService implements UserDetailsService {
                 authorities
         );
     }
+
+    // Called after a successful login whose stored hash used a different BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepo.updatePassword(user.getUsername(), newPassword);
+        CustomUserDetails details = (CustomUserDetails) user;
+        return new CustomUserDetails(details.getId(), details.getUsername(), newPassword, details.getAuthorities());
+    }
 }
@@ -1,19 +1,22 @@
 package com.example.moviereview.security;
 
-import com.example.moviereview.security.JwtUtil;
-import com.example.moviereview.security.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,6 +27,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenUserChecker userChecker;
+
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    private Timer cachedVerification;
+    private Timer fullVerification;
+
+    // jwt.verification: time to turn a bearer token into a principal, split by whether the cache answered
+    @Autowired
+    void registerTimers(MeterRegistry registry) {
+        cachedVerification = Timer.builder("jwt.verification").tag("source", "cache")
+                .publishPercentileHistogram().register(registry);
+        fullVerification = Timer.builder("jwt.verification").tag("source", "parse")
+                .publishPercentileHistogram().register(registry);
+    }
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -37,38 +58,67 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             token = header.substring(7);
         }
 
-        if (token != null && jwtUtil.validateToken(token)) {
-            String email = null;
+        if (token != null) {
             try {
-                email = jwtUtil.getEmailFromToken(token);
+                CustomUserDetails customUserDetails = authenticate(token);
+                if (customUserDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    customUserDetails,
+                                    null,
+                                    customUserDetails.getAuthorities()
+                            );
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    // Optional: You can set userId as request attribute if you want to use it downstream
+                    request.setAttribute("userId", customUserDetails.getId());
+                }
             } catch (Exception ex) {
-                filterChain.doFilter(request, response);
-                return;
+                // Handle user not found or other exceptions here if needed
             }
+        }
 
-            try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        filterChain.doFilter(request, response);
+    }
 
-                // Cast to CustomUserDetails to get userId
-                CustomUserDetails customUserDetails = (CustomUserDetails) userDetails;
-                Long userId = customUserDetails.getId();
+    private CustomUserDetails authenticate(String token) {
+        long start = System.nanoTime();
+        VerifiedTokenCache.Entry cached = tokenCache.get(token);
+        if (cached != null) {
+            CustomUserDetails principal = cached.principal();
+            boolean current = userChecker.isCurrent(principal.getId(), principal.getUsername(), cached.role());
+            cachedVerification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return current ? principal : null;
+        }
+        try {
+            return verify(token);
+        } finally {
+            fullVerification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                customUserDetails,
-                                null,
-                                customUserDetails.getAuthorities()
-                        );
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+    private CustomUserDetails verify(String token) {
+        // Single parse: signature, expiry and claims in one go
+        Claims claims = jwtUtil.parseVerifiedClaims(token);
+        if (claims == null) {
+            return null;
+        }
 
-                // Optional: You can set userId as request attribute if you want to use it downstream
-                request.setAttribute("userId", userId);
+        String email = claims.getSubject();
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
 
-            } catch (Exception ex) {
-                // Handle user not found or other exceptions here if needed
-            }
+        if (userId == null || role == null) {
+            // token issued before ids were embedded, fall back to the users table
+            return (CustomUserDetails) userDetailsService.loadUserByUsername(email);
         }
-
-        filterChain.doFilter(request, response);
+        if (!userChecker.isCurrent(userId, email, role)) {
+            return null;
+        }
+        CustomUserDetails principal = new CustomUserDetails(userId, email, null, List.of(new SimpleGrantedAuthority(role)));
+        if (claims.getExpiration() != null) {
+            tokenCache.put(token, principal, role, claims.getExpiration().getTime());
+        }
+        return principal;
     }
 }
@@ -15,10 +15,14 @@ public class JwtUtil {
     @Value("${jwt.expirationMs}")
     private long jwtExpirationMs;
 
-    public String generateToken(String email, String role) {
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
+    public String generateToken(Long userId, String email, String role) {
         return Jwts.builder()
                 .setSubject(email)
-                .claim("role", role)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(ROLE_CLAIM, role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
                 .signWith(SignatureAlgorithm.HS512, jwtSecret)
@@ -30,7 +34,7 @@ public class JwtUtil {
     }
 
     public String getRoleFromToken(String token) {
-        return getClaims(token).get("role", String.class);
+        return getClaims(token).get(ROLE_CLAIM, String.class);
     }
 
     public boolean validateToken(String token) {
@@ -42,6 +46,15 @@ public class JwtUtil {
         }
     }
 
+    // Verifies the signature and expiry once and returns the claims, or null if the token is not valid
+    public Claims parseVerifiedClaims(String token) {
+        try {
+            return getClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private Claims getClaims(String token) {
         return Jwts.parser()
                    .setSigningKey(jwtSecret)
@@ -65,6 +65,7 @@
 package com.example.moviereview.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -73,10 +74,12 @@ import org.springframework.security.config.annotation.authentication.builders.Au
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableMethodSecurity  // Enables @PreAuthorize annotation
 public class SecurityConfig {
@@ -88,8 +91,9 @@ public class SecurityConfig {
     private JwtAuthenticationFilter jwtFilter;
 
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http, BCryptPasswordEncoder bCrypt)
+    public AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder bCrypt)
             throws Exception {
+        // userDetailsService is also the UserDetailsPasswordService that stores re-encoded hashes
         return http.getSharedObject(AuthenticationManagerBuilder.class)
                 .userDetailsService(userDetailsService)
                 .passwordEncoder(bCrypt)
@@ -97,9 +101,15 @@ public class SecurityConfig {
                 .build();
     }
 
+    // BCrypt runs on its own bounded pool (threads 0 = half the cores); closed with the context
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public OffloadingPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.auth.bcrypt.strength:10}") int strength,
+            @Value("${app.auth.hashing.threads:0}") int threads,
+            @Value("${app.auth.hashing.queueCapacity:32}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new OffloadingPasswordEncoder(strength, poolSize, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -118,6 +128,8 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.DELETE, "/api/reviews/**").hasAuthority("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/reviews").hasAnyAuthority("USER", "ADMIN")
                 .requestMatchers("/api/feedback").permitAll()
+                // metrics and health need an admin token, whichever host the request comes through
+                .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,53 @@
+package com.example.moviereview.security;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.moviereview.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Re-checks token claims against the users table at most once per user every jwt.userRecheckMs,
+// so deleted users and role changes stop being honoured without a query on every request.
+// Entries expire one by one, so a full cache never turns into a burst of lookups.
+@Component
+public class TokenUserChecker {
+
+    private static final int MAX_ENTRIES = 100_000;
+
+    private final UserRepository userRepo;
+
+    // null when jwt.userRecheckMs is 0 or less: token claims are trusted until the token expires
+    private final Cache<Long, CheckedUser> checked;
+
+    public TokenUserChecker(UserRepository userRepo, @Value("${jwt.userRecheckMs:60000}") long recheckMs) {
+        this.userRepo = userRepo;
+        this.checked = recheckMs <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(MAX_ENTRIES)
+                .expireAfterWrite(Duration.ofMillis(recheckMs))
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, String email, String role) {
+        if (checked == null) {
+            return true;
+        }
+        CheckedUser state = checked.get(userId, id -> userRepo.findById(id)
+                .map(u -> new CheckedUser(u.getEmail(), u.getRole()))
+                .orElse(new CheckedUser(null, null)));
+        return Objects.equals(email, state.email()) && Objects.equals(role, state.role());
+    }
+
+    // Called by UserChangeListener once a change to the user is committed
+    public void invalidate(Long userId) {
+        if (checked != null) {
+            checked.invalidate(userId);
+        }
+    }
+
+    private record CheckedUser(String email, String role) {
+    }
+}
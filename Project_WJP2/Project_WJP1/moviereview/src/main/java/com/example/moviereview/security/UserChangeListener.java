@@ -0,0 +1,39 @@
+package com.example.moviereview.security;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.moviereview.model.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// Makes role changes and removals visible to TokenUserChecker right away instead of after the
+// next re-check. Waits for the commit so a concurrent request cannot cache the old row again.
+// Bulk deletes bypass entity callbacks; those users drop out at the next re-check.
+public class UserChangeListener {
+
+    // looked up lazily: the checker needs the repositories, which need the entity manager being built
+    private final ObjectProvider<TokenUserChecker> checker;
+
+    public UserChangeListener(ObjectProvider<TokenUserChecker> checker) {
+        this.checker = checker;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void userChanged(User user) {
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    checker.ifAvailable(c -> c.invalidate(userId));
+                }
+            });
+        } else {
+            checker.ifAvailable(c -> c.invalidate(userId));
+        }
+    }
+}
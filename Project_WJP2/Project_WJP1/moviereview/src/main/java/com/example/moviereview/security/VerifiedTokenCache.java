@@ -0,0 +1,95 @@
+package com.example.moviereview.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// Tokens that already passed signature verification, keyed by SHA-256 of the token so raw
+// tokens are not kept in memory. Each entry expires with its token's exp claim.
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Entry> cache;
+    private final LongSupplier clockMs;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cacheMaxSize:10000}") long maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    // tests drive the clock by hand
+    VerifiedTokenCache(long maxSize, LongSupplier clockMs) {
+        this.clockMs = clockMs;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clockMs.getAsLong()))
+                .recordStats()
+                .build();
+    }
+
+    public Entry get(String token) {
+        Entry entry = cache.getIfPresent(key(token));
+        // Caffeine expiry is exact to the nanosecond but guard anyway: never serve an expired token
+        if (entry != null && entry.expiresAtMs() <= clockMs.getAsLong()) {
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(String token, CustomUserDetails principal, String role, long expiresAtMs) {
+        if (expiresAtMs > clockMs.getAsLong()) {
+            cache.put(key(token), new Entry(principal, role, expiresAtMs));
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Entry(CustomUserDetails principal, String role, long expiresAtMs) {
+    }
+
+    private class UntilTokenExpiry implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAtMs() - clockMs.getAsLong()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -39,7 +39,7 @@ public class AuthService {
         user.setRole(request.getRole());
         userRepo.save(user);
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
         AuthDto userDto = new AuthDto(user.getId(), user.getName(), user.getEmail(), user.getRole());
 
         return new AuthResponse(token, userDto);
@@ -53,7 +53,7 @@ public class AuthService {
         User user = userRepo.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String token = jwtUtil.generateToken(user.getEmail(), user.getRole());
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
         AuthDto userDto = new AuthDto(user.getId(), user.getName(), user.getEmail(), user.getRole());
 
         return new AuthResponse(token, userDto);
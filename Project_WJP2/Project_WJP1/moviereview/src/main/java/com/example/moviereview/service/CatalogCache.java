@@ -0,0 +1,60 @@
+package com.example.moviereview.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.moviereview.config.CacheConfig;
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.PageDTO;
+
+// Targeted catalog eviction for a review write. Only the movie's average changed, so title and id
+// pages keep their order and membership: the pages that show the movie go, the rest stay warm.
+// Rating pages can all shift, and the full list shows every movie, so those go too. Runs after
+// commit, like the annotated evictions, so a concurrent read cannot re-cache the old average.
+@Component
+public class CatalogCache {
+
+    private final CacheManager cacheManager;
+
+    public CatalogCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void ratingChanged(Long movieId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictRatingChange(movieId);
+                }
+            });
+        } else {
+            evictRatingChange(movieId);
+        }
+    }
+
+    private void evictRatingChange(Long movieId) {
+        entries(CacheConfig.CATALOG).remove("all");
+        entries(CacheConfig.CATALOG_PAGES).entrySet().removeIf(e ->
+                e.getKey().toString().startsWith("rating:") || shows(e.getValue(), movieId));
+    }
+
+    private static boolean shows(Object page, Long movieId) {
+        return page instanceof PageDTO<?> p
+                && p.getItems().stream().anyMatch(m -> m instanceof MovieDTO dto && movieId.equals(dto.getId()));
+    }
+
+    private Map<?, ?> entries(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        // with spring.cache.type=none there is no Caffeine cache and nothing to evict
+        return cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine
+                ? caffeine.asMap()
+                : Collections.emptyMap();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.moviereview.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.moviereview.event.MovieChangedEvent;
+import com.example.moviereview.event.ReviewChangedEvent;
+import com.example.moviereview.event.ReviewsBulkChangedEvent;
+
+// In-memory version stamps for conditional GETs. Bumped once the transaction has completed, after
+// the read caches were evicted on commit, so a new ETag is never paired with data that could
+// still roll back or with a stale cache entry. A rollback just costs clients one full response.
+// A restart changes every ETag. There is deliberately no Last-Modified: it only has second
+// resolution, so two writes in one second would let an If-Modified-Since client keep stale data.
+@Service
+public class ContentVersionService {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong catalog = new AtomicLong();
+    // bumped when every movie changes at once (ratings rebuild); part of each movie's ETag
+    private final AtomicLong allMovies = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> movies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> movieReviews = new ConcurrentHashMap<>();
+
+    public String catalogEtag() {
+        return etag("c", catalog.get());
+    }
+
+    public String movieEtag(Long movieId) {
+        return etag("m" + movieId + "." + allMovies.get(), movies.getOrDefault(movieId, 0L));
+    }
+
+    public String movieReviewsEtag(Long movieId) {
+        return etag("r" + movieId, movieReviews.getOrDefault(movieId, 0L));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.movieId() == null) {
+            allMovies.incrementAndGet();
+        } else {
+            bump(movies, event.movieId());
+            if (event.type() == MovieChangedEvent.Type.DELETED) {
+                bump(movieReviews, event.movieId());
+            }
+        }
+        catalog.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        bump(movieReviews, event.movieId());
+        // the average rating shown on the movie and in the catalog changed too
+        bump(movies, event.movieId());
+        catalog.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onReviewsBulkChanged(ReviewsBulkChangedEvent event) {
+        for (Long movieId : event.movieIds()) {
+            bump(movieReviews, movieId);
+            bump(movies, movieId);
+        }
+        catalog.incrementAndGet();
+    }
+
+    private static void bump(ConcurrentHashMap<Long, Long> versions, Long id) {
+        versions.merge(id, 1L, Long::sum);
+    }
+
+    private String etag(String key, long version) {
+        return "\"" + key + "-" + bootId + "-" + version + "\"";
+    }
+}
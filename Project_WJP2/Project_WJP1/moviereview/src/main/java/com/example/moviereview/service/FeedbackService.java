@@ -1,16 +1,184 @@
 package com.example.moviereview.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.moviereview.config.ServiceBusyException;
 import com.example.moviereview.model.Feedback;
+import com.example.moviereview.repository.FeedbackJdbcRepository;
 import com.example.moviereview.repository.FeedbackRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Contact-form feedback. With app.feedback.async (the default) submissions go into a bounded queue and
+// a single writer thread inserts them in batches, every flushIntervalMs or as soon as a batch is full,
+// so bursts cost one connection and one commit per batch instead of one per request. When the queue is
+// full, callers wait up to enqueueTimeoutMs and are then turned away with 503. Anything still queued
+// is written on shutdown; a crash loses at most the queue. Rows are validated before they are queued;
+// if a batch still hits a constraint it is retried row by row and the rows that fail again are logged
+// and dropped, so one bad row can never wedge the queue.
 @Service
 public class FeedbackService {
-    @Autowired
-    private FeedbackRepository feedbackRepository;
+
+    private static final Logger log = LoggerFactory.getLogger(FeedbackService.class);
+
+    private final FeedbackRepository feedbackRepository;
+    private final FeedbackJdbcRepository feedbackJdbc;
+    private final TransactionTemplate tx;
+    private final boolean async;
+    private final int batchSize;
+    private final long enqueueTimeoutMs;
+
+    private final BlockingQueue<Feedback> queue;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // a batch whose insert failed, retried before anything new is drained; writer thread only
+    private List<Feedback> pending = List.of();
+
+    private final Timer flushTimer;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "feedback-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public FeedbackService(FeedbackRepository feedbackRepository, FeedbackJdbcRepository feedbackJdbc,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${app.feedback.async:true}") boolean async,
+                           @Value("${app.feedback.queueCapacity:10000}") int queueCapacity,
+                           @Value("${app.feedback.batchSize:500}") int batchSize,
+                           @Value("${app.feedback.flushIntervalMs:1000}") long flushIntervalMs,
+                           @Value("${app.feedback.enqueueTimeoutMs:50}") long enqueueTimeoutMs) {
+        this.feedbackRepository = feedbackRepository;
+        this.feedbackJdbc = feedbackJdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.async = async;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("feedback.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("feedback.queue.capacity", () -> queueCapacity).register(meterRegistry);
+        this.flushTimer = Timer.builder("feedback.flush")
+                .description("Time to write one batch of queued feedback")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("feedback.rejected")
+                .description("Submissions turned away because the queue was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("feedback.dropped")
+                .description("Queued submissions discarded because the database rejected them")
+                .register(meterRegistry);
+
+        if (async) {
+            writer.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
 
     public Feedback saveFeedback(Feedback feedback) {
         return feedbackRepository.save(feedback);
     }
+
+    // Queues the feedback for the writer thread; the caller only learns that it was accepted
+    public void submit(Feedback feedback) {
+        feedback.setId(null);
+        boolean accepted;
+        try {
+            accepted = queue.offer(feedback, enqueueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejected.increment();
+            throw new ServiceBusyException("Too much feedback right now, please try again shortly", 1);
+        }
+        if (async && queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            writer.execute(this::flushQuietly);
+        }
+    }
+
+    // Writes everything queued so far in batches; returns the number of rows written
+    public synchronized int flush() {
+        flushRequested.set(false);
+        int written = 0;
+        while (true) {
+            List<Feedback> batch = pending;
+            if (batch.isEmpty()) {
+                batch = new ArrayList<>(batchSize);
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    return written;
+                }
+            }
+            pending = batch;
+            List<Feedback> rows = batch;
+            try {
+                flushTimer.record(() -> tx.executeWithoutResult(status -> feedbackJdbc.insertAll(rows)));
+                written += rows.size();
+            } catch (DataIntegrityViolationException e) {
+                written += insertOneByOne(rows);
+            }
+            pending = List.of();
+        }
+    }
+
+    // After a constraint violation: keep the good rows, drop the ones the database refuses. Any other
+    // failure (say the database is down) leaves the rest pending for the next flush.
+    private int insertOneByOne(List<Feedback> rows) {
+        int written = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Feedback row = rows.get(i);
+            try {
+                tx.executeWithoutResult(status -> feedbackJdbc.insertAll(List.of(row)));
+                written++;
+            } catch (DataIntegrityViolationException e) {
+                dropped.increment();
+                log.warn("Dropping feedback from {} that the database rejected: {}", row.getEmail(), e.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                pending = new ArrayList<>(rows.subList(i, rows.size()));
+                throw e;
+            }
+        }
+        return written;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // the batch stays pending and is retried on the next flush
+            log.error("Writing {} queued feedback entries failed", pending.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+    }
 }
@@ -0,0 +1,199 @@
+package com.example.moviereview.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.moviereview.dto.DeletionJobDTO;
+import com.example.moviereview.event.ReviewsBulkChangedEvent;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Deletes movies whose reviews are too many for one transaction. Reviews go in chunks, each its own
+// short transaction that also takes the chunk out of the movie's rating totals, so locks stay brief
+// and the average stays right after every commit. The movie row itself goes last via MovieService.
+@Service
+public class MovieDeletionService {
+
+    // finished jobs are kept this long for status polling
+    private static final long JOB_RETENTION_MS = 60 * 60 * 1000;
+
+    private final MovieService movieService;
+    private final MovieRepository movieRepo;
+    private final ReviewRepository reviewRepo;
+    private final MovieRatingService ratingService;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "movie-deletion");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Job> runningByMovie = new ConcurrentHashMap<>();
+
+    public MovieDeletionService(MovieService movieService, MovieRepository movieRepo, ReviewRepository reviewRepo,
+                                MovieRatingService ratingService, ApplicationEventPublisher events,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.movies.deleteChunkSize:1000}") int chunkSize) {
+        this.movieService = movieService;
+        this.movieRepo = movieRepo;
+        this.reviewRepo = reviewRepo;
+        this.ratingService = ratingService;
+        this.events = events;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // Deletes small movies right away (empty result) and hands big ones to the background worker
+    public Optional<DeletionJobDTO> delete(Long movieId) {
+        if (!movieRepo.existsById(movieId)) {
+            throw new RuntimeException("Movie not found with id " + movieId);
+        }
+        long reviews = reviewRepo.countByMovieId(movieId);
+        if (reviews <= chunkSize) {
+            // still chunk by chunk, since more reviews may have arrived since the count
+            tx.executeWithoutResult(status -> {
+                deleteRemaining(movieId);
+                movieService.delete(movieId);
+            });
+            return Optional.empty();
+        }
+        return Optional.of(start(movieId, reviews).toDto());
+    }
+
+    public DeletionJobDTO getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Deletion job not found");
+        }
+        return job.toDto();
+    }
+
+    private synchronized Job start(Long movieId, long reviews) {
+        Job running = runningByMovie.get(movieId);
+        if (running != null) {
+            return running;
+        }
+        pruneFinished();
+        Job job = new Job(UUID.randomUUID().toString(), movieId, reviews);
+        jobs.put(job.id, job);
+        runningByMovie.put(movieId, job);
+        worker.execute(() -> run(job));
+        return job;
+    }
+
+    private void run(Job job) {
+        try {
+            Chunk chunk = null;
+            do {
+                Chunk after = chunk;
+                chunk = tx.execute(status -> purgeChunk(job.movieId, after));
+                job.deleted.addAndGet(chunk.deleted());
+            } while (chunk.rows() == chunkSize);
+            // whatever was added meanwhile, behind the cursor too, goes with the movie
+            long late = tx.execute(status -> {
+                long deleted = deleteRemaining(job.movieId);
+                movieService.delete(job.movieId);
+                return deleted;
+            });
+            job.deleted.addAndGet(late);
+            job.status = "DONE";
+        } catch (RuntimeException e) {
+            job.status = "FAILED";
+            job.error = e.getMessage();
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            runningByMovie.remove(job.movieId);
+        }
+    }
+
+    // Every review of the movie, chunk by chunk within the caller's transaction. Only used right before
+    // the movie goes in the same transaction, which takes its rating row and leaderboard entry along.
+    private long deleteRemaining(Long movieId) {
+        long deleted = 0;
+        Chunk chunk = null;
+        do {
+            chunk = deleteChunk(movieId, chunk);
+            deleted += chunk.deleted();
+        } while (chunk.rows() == chunkSize);
+        return deleted;
+    }
+
+    // Deletes a chunk and takes it out of the movie's rating totals while the movie is still listed
+    private Chunk purgeChunk(Long movieId, Chunk after) {
+        Chunk chunk = deleteChunk(movieId, after);
+        if (chunk.deleted() > 0) {
+            ratingService.reviewsRemoved(movieId, chunk.deleted(), chunk.ratingSum());
+            events.publishEvent(new ReviewsBulkChangedEvent(Set.of(movieId), chunk.deleted(), ReviewsBulkChangedEvent.Type.PURGED));
+        }
+        return chunk;
+    }
+
+    // The next chunk in (createdAt, id) order after the previous one, or the first when there is none
+    private Chunk deleteChunk(Long movieId, Chunk after) {
+        List<Object[]> rows = after == null
+                ? reviewRepo.findIdsAndRatingsByMovie(movieId, Limit.of(chunkSize))
+                : reviewRepo.findIdsAndRatingsByMovie(movieId, after.lastCreatedAt(), after.lastId(), Limit.of(chunkSize));
+        if (rows.isEmpty()) {
+            return new Chunk(0, 0, 0, null, 0);
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+        double sum = rows.stream().mapToDouble(row -> ((Number) row[1]).doubleValue()).sum();
+        int deleted = reviewRepo.deleteByIds(ids);
+        Object[] last = rows.get(rows.size() - 1);
+        return new Chunk(rows.size(), deleted, sum, (LocalDateTime) last[2], (Long) last[0]);
+    }
+
+    private void pruneFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(JOB_RETENTION_MS * 1_000_000);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private record Chunk(int rows, int deleted, double ratingSum, LocalDateTime lastCreatedAt, long lastId) {
+    }
+
+    private static final class Job {
+        final String id;
+        final Long movieId;
+        final long total;
+        final AtomicLong deleted = new AtomicLong();
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile String status = "RUNNING";
+        volatile String error;
+        volatile LocalDateTime finishedAt;
+
+        Job(String id, Long movieId, long total) {
+            this.id = id;
+            this.movieId = movieId;
+            this.total = total;
+        }
+
+        DeletionJobDTO toDto() {
+            return new DeletionJobDTO(id, movieId, status, total, deleted.get(), error, startedAt, finishedAt);
+        }
+    }
+}
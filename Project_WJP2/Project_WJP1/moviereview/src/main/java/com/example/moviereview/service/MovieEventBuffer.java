@@ -0,0 +1,78 @@
+package com.example.moviereview.service;
+
+import java.util.ArrayDeque;
+
+// Pending events for one live subscriber. Reviews queue up to `capacity`; past that they are all
+// dropped and replaced by a single resync, so a stalled client costs a fixed amount of memory and
+// catches up with one refetch. The rating summary and the heartbeat are single slots: only the
+// latest summary is ever sent, and heartbeats never pile up.
+final class MovieEventBuffer {
+
+    // a named event, already serialized so the fan-out does not re-serialize per subscriber
+    record Frame(String name, String data) {
+    }
+
+    static final Frame HEARTBEAT = new Frame(null, null);
+    static final Frame RESYNC = new Frame("resync", "{}");
+
+    private final int capacity;
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+    private Frame summary;
+    private boolean resync;
+    private boolean heartbeatDue;
+
+    MovieEventBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    // returns how many review events were dropped to make room
+    synchronized int offer(Frame frame) {
+        if (frame == HEARTBEAT) {
+            heartbeatDue = true;
+            return 0;
+        }
+        if (frame == RESYNC) {
+            queue.clear();
+            resync = true;
+            return 0;
+        }
+        if (resync || queue.size() >= capacity) {
+            // the client refetches anyway, so everything queued is moot
+            int dropped = queue.size() + 1;
+            queue.clear();
+            resync = true;
+            return dropped;
+        }
+        queue.add(frame);
+        return 0;
+    }
+
+    synchronized void offerSummary(Frame frame) {
+        summary = frame;
+    }
+
+    // resync first (it stands in for the dropped reviews), then reviews in order, then the latest summary
+    synchronized Frame next() {
+        if (resync) {
+            resync = false;
+            return RESYNC;
+        }
+        if (!queue.isEmpty()) {
+            return queue.poll();
+        }
+        if (summary != null) {
+            Frame frame = summary;
+            summary = null;
+            return frame;
+        }
+        if (heartbeatDue) {
+            heartbeatDue = false;
+            return HEARTBEAT;
+        }
+        return null;
+    }
+
+    synchronized boolean isEmpty() {
+        return !resync && queue.isEmpty() && summary == null && !heartbeatDue;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.moviereview.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.moviereview.config.ServiceBusyException;
+import com.example.moviereview.dto.RatingSummaryDTO;
+import com.example.moviereview.event.MovieChangedEvent;
+import com.example.moviereview.event.ReviewChangedEvent;
+import com.example.moviereview.event.ReviewsBulkChangedEvent;
+import com.example.moviereview.model.MovieRating;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.service.MovieEventBuffer.Frame;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Live updates for movie pages over Server-Sent Events. An idle subscriber is just an async servlet
+// response, so no thread is held per client. Committed review changes are serialized once and put on
+// every subscriber's own MovieEventBuffer; each subscriber is written to by at most one sender (a
+// virtual thread) at a time, so a slow client only ever blocks itself. Rating summaries are queried
+// once per burst of commits, off the request thread. A periodic heartbeat keeps proxies from closing
+// idle streams and weeds out clients that have gone away.
+@Service
+public class MovieEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieEventService.class);
+
+    private final MovieRepository movieRepo;
+    private final MovieRatingRepository ratingRepo;
+    private final ReviewService reviewService;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+
+    private final Map<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter dropped;
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "movie-events-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public MovieEventService(MovieRepository movieRepo, MovieRatingRepository ratingRepo, ReviewService reviewService,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${app.events.bufferSize:64}") int bufferSize,
+                             @Value("${app.events.maxSubscribers:48000}") int maxSubscribers,
+                             @Value("${app.events.timeoutMs:1800000}") long timeoutMs,
+                             @Value("${app.events.heartbeatSeconds:20}") long heartbeatSeconds,
+                             @Value("${server.tomcat.max-connections:8192}") int maxConnections) {
+        this.movieRepo = movieRepo;
+        this.ratingRepo = ratingRepo;
+        this.reviewService = reviewService;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        // streams past the connector's limit would not be refused with 503, they would just stall the
+        // connector for everyone; keep a quarter of the connections for regular requests
+        int connectionCap = maxConnections * 3 / 4;
+        if (maxSubscribers > connectionCap) {
+            log.warn("app.events.maxSubscribers={} lowered to {}, three quarters of server.tomcat.max-connections={}",
+                    maxSubscribers, connectionCap, maxConnections);
+        }
+        this.maxSubscribers = Math.min(maxSubscribers, connectionCap);
+        this.timeoutMs = timeoutMs;
+
+        Gauge.builder("movie.events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        this.dropped = Counter.builder("movie.events.dropped")
+                .description("Review events dropped because a subscriber fell too far behind")
+                .register(meterRegistry);
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        topics.values().forEach(topic -> topic.subscribers.forEach(s -> s.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    // Opens a stream; the first event is the movie's current rating summary
+    public SseEmitter subscribe(Long movieId) {
+        if (!movieRepo.existsById(movieId)) {
+            throw new RuntimeException("Movie not found with id " + movieId);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceBusyException("Too many live connections, please try again later", 30);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(movieId, emitter);
+        Topic topic = topics.compute(movieId, (id, t) -> {
+            Topic existing = t != null ? t : new Topic(id);
+            existing.subscribers.add(subscriber);
+            return existing;
+        });
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(e -> subscriber.remove());
+        topic.refreshSummary();
+        return emitter;
+    }
+
+    public int maxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        Topic topic = topics.get(event.movieId());
+        if (topic != null) {
+            topic.publish(new Frame("review", json(Map.of("type", event.type(), "review", event.review()))));
+            topic.refreshSummary();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewsBulkChanged(ReviewsBulkChangedEvent event) {
+        // too many reviews to stream one by one: clients refetch, then get the new summary
+        for (Long movieId : event.movieIds()) {
+            Topic topic = topics.get(movieId);
+            if (topic != null) {
+                topic.publish(MovieEventBuffer.RESYNC);
+                topic.refreshSummary();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.type() != MovieChangedEvent.Type.DELETED) {
+            return;
+        }
+        Topic topic = topics.get(event.movieId());
+        if (topic != null) {
+            topic.publish(new Frame("deleted", "{}"));
+            topic.subscribers.forEach(Subscriber::completeWhenDrained);
+        }
+    }
+
+    private void sendHeartbeats() {
+        topics.values().forEach(topic -> topic.subscribers.forEach(s -> s.offer(MovieEventBuffer.HEARTBEAT)));
+    }
+
+    private RatingSummaryDTO summary(Long movieId) {
+        MovieRating rating = ratingRepo.findById(movieId).orElse(null);
+        return new RatingSummaryDTO(movieId,
+                rating == null ? null : rating.getAverageRating(),
+                rating == null ? 0 : rating.getReviewCount(),
+                reviewService.getRatingCountsByMovie(movieId));
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class Topic {
+        final Long movieId;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // set while a summary query is queued or running; later commits ride along with it
+        private final AtomicBoolean summaryPending = new AtomicBoolean();
+
+        Topic(Long movieId) {
+            this.movieId = movieId;
+        }
+
+        void publish(Frame frame) {
+            subscribers.forEach(s -> s.offer(frame));
+        }
+
+        void refreshSummary() {
+            if (summaryPending.compareAndSet(false, true)) {
+                senders.execute(() -> {
+                    summaryPending.set(false);
+                    Frame frame = new Frame("rating", json(summary(movieId)));
+                    subscribers.forEach(s -> s.offerSummary(frame));
+                });
+            }
+        }
+    }
+
+    private final class Subscriber {
+        final Long movieId;
+        final SseEmitter emitter;
+        private final MovieEventBuffer buffer = new MovieEventBuffer(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean completeWhenDrained;
+
+        Subscriber(Long movieId, SseEmitter emitter) {
+            this.movieId = movieId;
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            int lost = buffer.offer(frame);
+            if (lost > 0) {
+                dropped.increment(lost);
+            }
+            schedule();
+        }
+
+        void offerSummary(Frame frame) {
+            buffer.offerSummary(frame);
+            schedule();
+        }
+
+        void completeWhenDrained() {
+            completeWhenDrained = true;
+            schedule();
+        }
+
+        // at most one drain per subscriber is queued or running, so its events stay in order
+        private void schedule() {
+            if (!removed.get() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while ((frame = buffer.next()) != null) {
+                    send(frame);
+                }
+                if (completeWhenDrained) {
+                    // don't rely on the container calling back before the slot is freed
+                    emitter.complete();
+                    remove();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client went away or the stream already completed
+                emitter.completeWithError(e);
+                remove();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // an offer may have landed after the last next() but before draining was cleared
+            if (!buffer.isEmpty() || completeWhenDrained) {
+                schedule();
+            }
+        }
+
+        private void send(Frame frame) throws IOException {
+            if (frame == MovieEventBuffer.HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().name(frame.name()).data(frame.data()));
+            }
+        }
+
+        void remove() {
+            if (removed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                topics.computeIfPresent(movieId, (id, topic) -> {
+                    topic.subscribers.remove(this);
+                    return topic.subscribers.isEmpty() ? null : topic;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.moviereview.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.example.moviereview.dto.LeaderboardEntryDTO;
+
+// Top-rated and trending rankings held in memory. Each movie has an entry with its rating totals and,
+// while it has reviews inside the trending window, a ring of review counts per hour. A ranking is a
+// sorted set of (score, movie) keys: a write re-keys one movie under that movie's lock, a read walks
+// the first K keys without locking. Top-rated is a Bayesian average that pulls movies with few
+// reviews towards the catalog mean; the mean is refreshed by tick() rather than on every write.
+// Unrated movies come after every rated one, so the home page is never empty on a new catalog.
+// Hours are epoch hours supplied by the caller.
+final class MovieLeaderboard {
+
+    private static final Comparator<Ranked> BEST_FIRST =
+            Comparator.comparingDouble(Ranked::score).reversed().thenComparingLong(Ranked::movieId);
+    private static final Comparator<Ranked> RATED_FIRST =
+            Comparator.comparing((Ranked r) -> r.count() == 0).thenComparing(BEST_FIRST);
+
+    private final double priorWeight;
+    private final int windowHours;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ranked> top = new ConcurrentSkipListSet<>(RATED_FIRST);
+    private final ConcurrentSkipListSet<Ranked> trending = new ConcurrentSkipListSet<>(BEST_FIRST);
+    private volatile double priorMean;
+
+    // count and average travel with the key so a read sees the values it was ranked by
+    private record Ranked(double score, long movieId, long count, Double average) {
+    }
+
+    private static final class Entry {
+        final long movieId;
+        volatile String title;
+        volatile String posterUrl;
+        boolean removed;
+        long count;
+        double sum;
+        // reviews per hour at slot hour % windowHours, up to newestHour; null while the window is empty
+        int[] hourly;
+        long newestHour;
+        int recent;
+        Ranked topKey;
+        Ranked trendingKey;
+
+        Entry(long movieId) {
+            this.movieId = movieId;
+        }
+    }
+
+    MovieLeaderboard(double priorWeight, int windowHours) {
+        this.priorWeight = priorWeight;
+        this.windowHours = windowHours;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // a new movie joins /top as unrated
+    void putMovie(long movieId, String title, String posterUrl) {
+        Entry e = entries.computeIfAbsent(movieId, Entry::new);
+        synchronized (e) {
+            e.title = title;
+            e.posterUrl = posterUrl;
+            if (e.topKey == null) {
+                rerank(e);
+            }
+        }
+    }
+
+    // Replaces everything known about a movie: all-time totals plus the hour of each review in the window
+    void load(long movieId, String title, String posterUrl, long count, double sum,
+              Collection<Long> reviewHours, long nowHour) {
+        Entry e = entries.computeIfAbsent(movieId, Entry::new);
+        synchronized (e) {
+            e.title = title;
+            e.posterUrl = posterUrl;
+            e.count = count;
+            e.sum = sum;
+            e.hourly = null;
+            e.recent = 0;
+            for (long hour : reviewHours) {
+                addRecent(e, hour, 1, nowHour);
+            }
+            rerank(e);
+        }
+    }
+
+    void removeMovie(long movieId) {
+        Entry e = entries.remove(movieId);
+        if (e == null) {
+            return;
+        }
+        synchronized (e) {
+            e.removed = true;
+            e.topKey = replace(top, e.topKey, null);
+            e.trendingKey = replace(trending, e.trendingKey, null);
+        }
+    }
+
+    // false when the movie is unknown, so the caller can load it instead
+    boolean reviewAdded(long movieId, double rating, long hour, long nowHour) {
+        return update(movieId, 1, rating, hour, nowHour);
+    }
+
+    boolean reviewRemoved(long movieId, double rating, long hour, long nowHour) {
+        return update(movieId, -1, rating, hour, nowHour);
+    }
+
+    // Moves every trending window forward to nowHour and re-scores top-rated against the current mean
+    void tick(long nowHour) {
+        long count = 0;
+        double sum = 0;
+        for (Entry e : entries.values()) {
+            synchronized (e) {
+                count += e.count;
+                sum += e.sum;
+            }
+        }
+        priorMean = count == 0 ? 0 : sum / count;
+        for (Entry e : entries.values()) {
+            synchronized (e) {
+                advance(e, nowHour);
+                rerank(e);
+            }
+        }
+    }
+
+    List<LeaderboardEntryDTO> top(int limit) {
+        return firstOf(top, limit);
+    }
+
+    List<LeaderboardEntryDTO> trending(int limit) {
+        return firstOf(trending, limit);
+    }
+
+    private boolean update(long movieId, int delta, double rating, long hour, long nowHour) {
+        Entry e = entries.get(movieId);
+        if (e == null) {
+            return false;
+        }
+        synchronized (e) {
+            if (e.removed) {
+                return false;
+            }
+            e.count = Math.max(0, e.count + delta);
+            e.sum = e.count == 0 ? 0 : e.sum + delta * rating;
+            addRecent(e, hour, delta, nowHour);
+            rerank(e);
+        }
+        return true;
+    }
+
+    private void addRecent(Entry e, long hour, int delta, long nowHour) {
+        hour = Math.min(hour, nowHour);
+        if (hour <= nowHour - windowHours) {
+            return;
+        }
+        advance(e, nowHour);
+        if (e.hourly == null) {
+            if (delta < 0) {
+                return;
+            }
+            e.hourly = new int[windowHours];
+            e.newestHour = nowHour;
+        }
+        int slot = slot(hour);
+        // a removal can never take an hour below zero
+        delta = Math.max(delta, -e.hourly[slot]);
+        e.hourly[slot] += delta;
+        e.recent += delta;
+        if (e.recent == 0) {
+            e.hourly = null;
+        }
+    }
+
+    // clears the slots of hours that fell out of the window since newestHour
+    private void advance(Entry e, long nowHour) {
+        if (e.hourly == null || nowHour <= e.newestHour) {
+            return;
+        }
+        for (long h = Math.max(e.newestHour + 1, nowHour - windowHours + 1); h <= nowHour; h++) {
+            int slot = slot(h);
+            e.recent -= e.hourly[slot];
+            e.hourly[slot] = 0;
+        }
+        e.newestHour = nowHour;
+        if (e.recent == 0) {
+            e.hourly = null;
+        }
+    }
+
+    private void rerank(Entry e) {
+        if (e.removed) {
+            return;
+        }
+        Double average = e.count > 0 ? e.sum / e.count : null;
+        Ranked topKey = new Ranked(e.count > 0 ? (priorWeight * priorMean + e.sum) / (priorWeight + e.count) : 0,
+                e.movieId, e.count, average);
+        Ranked trendingKey = e.recent > 0
+                ? new Ranked(e.recent * 24.0 / windowHours, e.movieId, e.recent, average)
+                : null;
+        e.topKey = replace(top, e.topKey, topKey);
+        e.trendingKey = replace(trending, e.trendingKey, trendingKey);
+    }
+
+    private static Ranked replace(ConcurrentSkipListSet<Ranked> ranking, Ranked old, Ranked fresh) {
+        if (old != null) {
+            ranking.remove(old);
+        }
+        if (fresh != null) {
+            ranking.add(fresh);
+        }
+        return fresh;
+    }
+
+    private List<LeaderboardEntryDTO> firstOf(ConcurrentSkipListSet<Ranked> ranking, int limit) {
+        List<LeaderboardEntryDTO> result = new ArrayList<>(limit);
+        for (Ranked r : ranking) {
+            Entry e = entries.get(r.movieId());
+            if (e != null) {
+                result.add(new LeaderboardEntryDTO(r.movieId(), e.title, e.posterUrl, r.average(), r.count(), r.score()));
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) windowHours);
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.moviereview.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.moviereview.dto.LeaderboardEntryDTO;
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.event.MovieChangedEvent;
+import com.example.moviereview.event.ReviewChangedEvent;
+import com.example.moviereview.event.ReviewsBulkChangedEvent;
+import com.example.moviereview.model.MovieRating;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Serves the home page's top-rated and trending lists from memory. Built from movie_ratings and the
+// recent reviews at startup, then kept current from committed review and movie changes. A background
+// tick moves the trending window along and refreshes the mean used by the Bayesian average.
+@Service
+public class MovieLeaderboardService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private static final long TICK_MINUTES = 5;
+
+    private final MovieRepository movieRepo;
+    private final MovieRatingRepository ratingRepo;
+    private final ReviewRepository reviewRepo;
+    private final double priorWeight;
+    private final int windowHours;
+
+    private volatile MovieLeaderboard board;
+
+    // movies changed while a rebuild was reading the tables; reloaded into the new board
+    private final Object rebuildLock = new Object();
+    private boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "movie-leaderboard");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public MovieLeaderboardService(MovieRepository movieRepo, MovieRatingRepository ratingRepo,
+                                   ReviewRepository reviewRepo,
+                                   @Value("${app.leaderboard.priorWeight:10}") double priorWeight,
+                                   @Value("${app.leaderboard.trendingHours:72}") int windowHours) {
+        this.movieRepo = movieRepo;
+        this.ratingRepo = ratingRepo;
+        this.reviewRepo = reviewRepo;
+        this.priorWeight = priorWeight;
+        this.windowHours = windowHours;
+        this.board = new MovieLeaderboard(priorWeight, windowHours);
+    }
+
+    @PostConstruct
+    void start() {
+        ticker.scheduleWithFixedDelay(() -> board.tick(nowHour()), TICK_MINUTES, TICK_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    public List<LeaderboardEntryDTO> top(Integer limit) {
+        return board.top(size(limit));
+    }
+
+    public List<LeaderboardEntryDTO> trending(Integer limit) {
+        return board.trending(size(limit));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        long now = nowHour();
+        Map<Long, MovieRating> totals = new HashMap<>();
+        ratingRepo.findAll().forEach(r -> totals.put(r.getMovieId(), r));
+        Map<Long, List<Long>> recent = recentReviewHours(reviewRepo.findRecentActivity(since(now)));
+
+        MovieLeaderboard fresh = new MovieLeaderboard(priorWeight, windowHours);
+        for (MovieDTO m : movieRepo.findCatalog()) {
+            MovieRating r = totals.get(m.getId());
+            fresh.load(m.getId(), m.getTitle(), m.getPosterUrl(),
+                    r == null ? 0 : r.getReviewCount(), r == null ? 0 : r.getRatingSum(),
+                    recent.getOrDefault(m.getId(), List.of()), now);
+        }
+        fresh.tick(now);
+
+        Set<Long> replay;
+        synchronized (rebuildLock) {
+            board = fresh;
+            rebuilding = false;
+            replay = new HashSet<>(changedDuringRebuild);
+        }
+        if (!replay.isEmpty()) {
+            reload(replay);
+        }
+        return fresh.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        Long movieId = event.movieId();
+        if (noteDuringRebuild(movieId)) {
+            return;
+        }
+        double rating = event.review().getRating();
+        long hour = hourOf(event.review().getCreatedAt());
+        boolean known = event.type() == ReviewChangedEvent.Type.ADDED
+                ? board.reviewAdded(movieId, rating, hour, nowHour())
+                : board.reviewRemoved(movieId, rating, hour, nowHour());
+        if (!known) {
+            reload(List.of(movieId));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewsBulkChanged(ReviewsBulkChangedEvent event) {
+        reload(event.movieIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.type() == MovieChangedEvent.Type.RATINGS_REBUILT) {
+            rebuild();
+            return;
+        }
+        if (noteDuringRebuild(event.movieId())) {
+            return;
+        }
+        if (event.type() == MovieChangedEvent.Type.DELETED) {
+            board.removeMovie(event.movieId());
+        } else {
+            board.putMovie(event.movieId(), event.title(), event.posterUrl());
+        }
+    }
+
+    // Re-reads the given movies' titles, totals and recent reviews
+    private void reload(Collection<Long> movieIds) {
+        if (noteDuringRebuild(movieIds)) {
+            return;
+        }
+        long now = nowHour();
+        MovieLeaderboard current = board;
+        Map<Long, MovieRating> totals = new HashMap<>();
+        ratingRepo.findAllById(movieIds).forEach(r -> totals.put(r.getMovieId(), r));
+        Map<Long, List<Long>> recent = recentReviewHours(reviewRepo.findRecentActivity(movieIds, since(now)));
+
+        Set<Long> missing = new HashSet<>(movieIds);
+        movieRepo.findAllById(movieIds).forEach(m -> {
+            missing.remove(m.getId());
+            MovieRating r = totals.get(m.getId());
+            current.load(m.getId(), m.getTitle(), m.getPosterUrl(),
+                    r == null ? 0 : r.getReviewCount(), r == null ? 0 : r.getRatingSum(),
+                    recent.getOrDefault(m.getId(), List.of()), now);
+        });
+        missing.forEach(current::removeMovie);
+    }
+
+    private boolean noteDuringRebuild(Long movieId) {
+        return noteDuringRebuild(List.of(movieId));
+    }
+
+    private boolean noteDuringRebuild(Collection<Long> movieIds) {
+        synchronized (rebuildLock) {
+            if (rebuilding) {
+                changedDuringRebuild.addAll(movieIds);
+            }
+            return rebuilding;
+        }
+    }
+
+    private static Map<Long, List<Long>> recentReviewHours(List<Object[]> rows) {
+        Map<Long, List<Long>> hours = new HashMap<>();
+        for (Object[] row : rows) {
+            hours.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(hourOf((LocalDateTime) row[1]));
+        }
+        return hours;
+    }
+
+    private LocalDateTime since(long nowHour) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(TimeUnit.HOURS.toSeconds(nowHour - windowHours + 1)),
+                ZoneId.systemDefault());
+    }
+
+    private static int size(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static long nowHour() {
+        return TimeUnit.MILLISECONDS.toHours(System.currentTimeMillis());
+    }
+
+    // Review.createdAt is server-local time
+    private static long hourOf(LocalDateTime time) {
+        return time == null ? nowHour() : TimeUnit.SECONDS.toHours(time.atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+}
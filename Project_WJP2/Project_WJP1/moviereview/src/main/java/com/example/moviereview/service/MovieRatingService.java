@@ -0,0 +1,147 @@
+package com.example.moviereview.service;
+
+import com.example.moviereview.config.CacheConfig;
+import com.example.moviereview.event.MovieChangedEvent;
+import com.example.moviereview.model.MovieRating;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps one movie_ratings row per movie so reads never have to scan the reviews table
+@Service
+@RequiredArgsConstructor
+public class MovieRatingService {
+
+    private final MovieRatingRepository ratingRepo;
+    private final ReviewRepository reviewRepo;
+    private final MovieRepository movieRepo;
+    private final ApplicationEventPublisher events;
+    private final CatalogCache catalogCache;
+
+    public Double getAverage(Long movieId) {
+        return ratingRepo.findById(movieId)
+                .map(MovieRating::getAverageRating)
+                .orElse(null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void movieCreated(Long movieId) {
+        ratingRepo.save(new MovieRating(movieId, 0, 0));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void movieDeleted(Long movieId) {
+        ratingRepo.deleteById(movieId);
+    }
+
+    // Called after the review row is written, in the same transaction; the movie's cached averages go
+    // stale, but only the catalog entries that show it are dropped
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheConfig.MOVIE, key = "#movieId")
+    public void reviewAdded(Long movieId, double rating) {
+        catalogCache.ratingChanged(movieId);
+        if (ratingRepo.addRating(movieId, rating) == 0) {
+            // movie predates movie_ratings, build its row from the reviews table
+            rebuild(movieId);
+        }
+    }
+
+    // Bulk form of reviewAdded: movieId -> {count, sum} of the reviews just written
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = {CacheConfig.MOVIE, CacheConfig.CATALOG, CacheConfig.CATALOG_PAGES}, allEntries = true)
+    public void reviewsAdded(Map<Long, double[]> totals) {
+        totals.forEach((movieId, t) -> {
+            if (ratingRepo.addRatings(movieId, (long) t[0], t[1]) == 0) {
+                rebuild(movieId);
+            }
+        });
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheConfig.MOVIE, key = "#movieId")
+    public void reviewRemoved(Long movieId, double rating) {
+        catalogCache.ratingChanged(movieId);
+        if (ratingRepo.removeRating(movieId, rating) == 0) {
+            rebuild(movieId);
+        }
+    }
+
+    // Bulk form of reviewRemoved for one chunk of a movie's reviews
+    @Transactional(propagation = Propagation.MANDATORY)
+    @CacheEvict(cacheNames = CacheConfig.MOVIE, key = "#movieId")
+    public void reviewsRemoved(Long movieId, long count, double sum) {
+        catalogCache.ratingChanged(movieId);
+        if (ratingRepo.removeRatings(movieId, count, sum) == 0) {
+            rebuild(movieId);
+        }
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MOVIE, key = "#movieId")
+    public MovieRating rebuild(Long movieId) {
+        catalogCache.ratingChanged(movieId);
+        List<Object[]> totals = reviewRepo.sumRatingsForMovie(movieId);
+        MovieRating rating = totals.isEmpty()
+                ? new MovieRating(movieId, 0, 0)
+                : toRating(totals.get(0));
+        return ratingRepo.save(rating);
+    }
+
+    // Recomputes every movie's totals from the reviews table in one GROUP BY pass
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.MOVIE, CacheConfig.CATALOG, CacheConfig.CATALOG_PAGES}, allEntries = true)
+    public int rebuildAll() {
+        Map<Long, MovieRating> existing = ratingRepo.findAll().stream()
+                .collect(Collectors.toMap(MovieRating::getMovieId, Function.identity()));
+
+        Map<Long, MovieRating> computed = new HashMap<>();
+        for (Object[] row : reviewRepo.sumRatingsByMovie()) {
+            MovieRating rating = toRating(row);
+            computed.put(rating.getMovieId(), rating);
+        }
+
+        List<Long> movieIds = movieRepo.findAllIds();
+        for (Long movieId : movieIds) {
+            MovieRating fresh = computed.getOrDefault(movieId, new MovieRating(movieId, 0, 0));
+            MovieRating current = existing.remove(movieId);
+            if (current == null) {
+                ratingRepo.save(fresh);
+            } else {
+                current.setReviewCount(fresh.getReviewCount());
+                current.setRatingSum(fresh.getRatingSum());
+                current.setAverageRating(fresh.getAverageRating());
+            }
+        }
+
+        // rows left over belong to movies that no longer exist
+        ratingRepo.deleteAllInBatch(existing.values());
+        events.publishEvent(new MovieChangedEvent(null, MovieChangedEvent.Type.RATINGS_REBUILT));
+        return movieIds.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOnStartup() {
+        if (ratingRepo.count() != movieRepo.count()) {
+            rebuildAll();
+        }
+    }
+
+    private MovieRating toRating(Object[] row) {
+        return new MovieRating((Long) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).doubleValue());
+    }
+}
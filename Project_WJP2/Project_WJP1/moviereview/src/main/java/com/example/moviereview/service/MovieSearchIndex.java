@@ -0,0 +1,483 @@
+package com.example.moviereview.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.SearchHitDTO;
+
+// Inverted index over movie titles and descriptions. Terms sit in a sorted map so a prefix is a range
+// scan. Each movie gets a dense slot number; a term's postings are immutable slot/weight arrays ordered
+// by weight and replaced wholesale on change, so searches never lock. Scores accumulate in pooled
+// buffers keyed by slot, sized by the postings a query touches. Writers are serialized; an edited
+// movie keeps its slot, and slots freed by deletions are reclaimed by compacted().
+final class MovieSearchIndex {
+
+    private static final Pattern SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "with");
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final float TITLE_WEIGHT = 3f;
+    // a prefix match ranks a little below the whole word
+    private static final float PREFIX_FACTOR = 0.8f;
+    // bounds on the work one typeahead keystroke can cause
+    private static final int MAX_PREFIX_SCAN = 2048;
+    private static final int MAX_PREFIX_TERMS = 16;
+    private static final int MAX_POSTINGS_PER_TERM = 1000;
+
+    // later words of a very long query are ignored, which also bounds the postings a search touches
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final int MIN_DEAD_SLOTS = 1024;
+
+    // Score buffers are pooled rather than per thread: with virtual threads every request is a new
+    // thread, and with platform threads each idle thread would pin its own buffer.
+    private static final int INITIAL_SCORES_CAPACITY = 256;
+    private static final int MAX_POOLED_CAPACITY = 1 << 14;
+    private static final int MAX_POOLED_SCORES = Runtime.getRuntime().availableProcessors() * 2;
+    private static final ConcurrentLinkedQueue<Scores> SCORES = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooledScores = new AtomicInteger();
+
+    private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Doc> docsById = new ConcurrentHashMap<>();
+    // slot -> movie, null once removed; grown (copied) by writers only
+    private volatile Doc[] slots = new Doc[16];
+    private int nextSlot;
+
+    private record Doc(long id, int slot, String title, String posterUrl, Map<String, Float> weights) {
+    }
+
+    private record Posting(String term, int slot, float weight) {
+    }
+
+    // postings sorted by weight descending, so truncating keeps the best matches
+    private record Postings(int[] slots, float[] weights) {
+
+        static Postings of(List<Posting> postings) {
+            postings.sort(Comparator.comparing(Posting::weight).reversed().thenComparing(Posting::slot));
+            int[] slots = new int[postings.size()];
+            float[] weights = new float[postings.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = postings.get(i).slot();
+                weights[i] = postings.get(i).weight();
+            }
+            return new Postings(slots, weights);
+        }
+
+        Postings without(int slot) {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] == slot) {
+                    int[] newSlots = new int[slots.length - 1];
+                    float[] newWeights = new float[slots.length - 1];
+                    System.arraycopy(slots, 0, newSlots, 0, i);
+                    System.arraycopy(slots, i + 1, newSlots, i, slots.length - i - 1);
+                    System.arraycopy(weights, 0, newWeights, 0, i);
+                    System.arraycopy(weights, i + 1, newWeights, i, slots.length - i - 1);
+                    return new Postings(newSlots, newWeights);
+                }
+            }
+            return this;
+        }
+
+        Postings with(int slot, float weight) {
+            int at = 0;
+            while (at < slots.length && (weights[at] > weight || (weights[at] == weight && slots[at] < slot))) {
+                at++;
+            }
+            int[] newSlots = new int[slots.length + 1];
+            float[] newWeights = new float[slots.length + 1];
+            System.arraycopy(slots, 0, newSlots, 0, at);
+            System.arraycopy(weights, 0, newWeights, 0, at);
+            newSlots[at] = slot;
+            newWeights[at] = weight;
+            System.arraycopy(slots, at, newSlots, at + 1, slots.length - at);
+            System.arraycopy(weights, at, newWeights, at + 1, slots.length - at);
+            return new Postings(newSlots, newWeights);
+        }
+    }
+
+    // Tokenizes every movie on the common fork-join pool
+    static MovieSearchIndex build(List<MovieDTO> movies) {
+        List<Doc> docs = IntStream.range(0, movies.size()).parallel()
+                .mapToObj(i -> {
+                    MovieDTO m = movies.get(i);
+                    return toDoc(m.getId(), i, m.getTitle(), m.getDescription(), m.getPosterUrl());
+                })
+                .toList();
+        return fromDocs(docs);
+    }
+
+    // docs must hold slots 0..n-1
+    private static MovieSearchIndex fromDocs(List<Doc> docs) {
+        MovieSearchIndex index = new MovieSearchIndex();
+        Doc[] slots = new Doc[Math.max(docs.size(), 16)];
+        ConcurrentMap<String, List<Posting>> byTerm = docs.parallelStream()
+                .flatMap(d -> d.weights().entrySet().stream().map(e -> new Posting(e.getKey(), d.slot(), e.getValue())))
+                .collect(Collectors.groupingByConcurrent(Posting::term));
+        byTerm.entrySet().parallelStream()
+                .forEach(e -> index.terms.put(e.getKey(), Postings.of(new ArrayList<>(e.getValue()))));
+        for (Doc doc : docs) {
+            slots[doc.slot()] = doc;
+            index.docsById.put(doc.id(), doc);
+        }
+        index.nextSlot = docs.size();
+        index.slots = slots;
+        return index;
+    }
+
+    int size() {
+        return docsById.size();
+    }
+
+    // slots of deleted movies outnumber the live ones
+    synchronized boolean needsCompaction() {
+        int dead = nextSlot - docsById.size();
+        return dead > MIN_DEAD_SLOTS && dead > docsById.size();
+    }
+
+    // A copy with the live movies renumbered densely; term weights are reused, nothing is re-tokenized
+    synchronized MovieSearchIndex compacted() {
+        List<Doc> live = new ArrayList<>(docsById.size());
+        for (int i = 0; i < nextSlot; i++) {
+            Doc d = slots[i];
+            if (d != null) {
+                live.add(new Doc(d.id(), live.size(), d.title(), d.posterUrl(), d.weights()));
+            }
+        }
+        return fromDocs(live);
+    }
+
+    synchronized void put(long id, String title, String description, String posterUrl) {
+        Doc previous = docsById.get(id);
+        int slot;
+        if (previous != null) {
+            remove(id);
+            slot = previous.slot();
+        } else {
+            if (nextSlot == slots.length) {
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            slot = nextSlot++;
+        }
+        Doc doc = toDoc(id, slot, title, description, posterUrl);
+        // the slot is filled before any postings point at it
+        slots[doc.slot()] = doc;
+        doc.weights().forEach((term, weight) -> terms.compute(term, (t, postings) -> postings == null
+                ? new Postings(new int[] {doc.slot()}, new float[] {weight})
+                : postings.with(doc.slot(), weight)));
+        docsById.put(id, doc);
+    }
+
+    synchronized void remove(long id) {
+        Doc doc = docsById.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.weights().keySet()) {
+            terms.computeIfPresent(term, (t, postings) -> {
+                Postings rest = postings.without(doc.slot());
+                return rest.slots().length == 0 ? null : rest;
+            });
+        }
+        slots[doc.slot()] = null;
+    }
+
+    // Every query word must match a whole term, except the last which may be a prefix (typeahead)
+    // unless the query ends in whitespace. Stop words are skipped as whole words, but a trailing one is
+    // kept as a prefix ("the" -> "Thelma"). Movies matching all words are returned by score; when none
+    // do, movies matching the most words come first.
+    List<SearchHitDTO> search(String query, int limit) {
+        List<String> words = split(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        List<String> tokens = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size(); i++) {
+            if (!STOP_WORDS.contains(words.get(i)) || (lastIsPrefix && i == words.size() - 1)) {
+                tokens.add(words.get(i));
+            }
+        }
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+            lastIsPrefix = false;
+        }
+        Doc[] table = slots;
+        int docCount = Math.max(docsById.size(), 1);
+
+        Scores s = borrowScores();
+        try {
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                boolean prefix = lastIsPrefix && i == tokens.size() - 1;
+                for (Map.Entry<String, Postings> entry : expand(token, prefix)) {
+                    Postings postings = entry.getValue();
+                    float idf = (float) Math.log(1 + (double) docCount / postings.slots().length);
+                    float factor = entry.getKey().equals(token) ? idf : idf * PREFIX_FACTOR;
+                    int n = Math.min(postings.slots().length, MAX_POSTINGS_PER_TERM);
+                    for (int p = 0; p < n; p++) {
+                        int slot = postings.slots()[p];
+                        if (slot < table.length) {
+                            s.add(slot, i + 1, factor * postings.weights()[p]);
+                        }
+                    }
+                }
+            }
+            return s.top(table, tokens.size(), limit);
+        } finally {
+            returnScores(s);
+        }
+    }
+
+    // the exact word plus the completions found in the most movies
+    private List<Map.Entry<String, Postings>> expand(String token, boolean prefix) {
+        if (!prefix) {
+            Postings postings = terms.get(token);
+            return postings == null ? List.of() : List.of(Map.entry(token, postings));
+        }
+        List<Map.Entry<String, Postings>> best = new ArrayList<>(MAX_PREFIX_TERMS + 1);
+        int scanned = 0;
+        for (Map.Entry<String, Postings> entry : terms.tailMap(token, true).entrySet()) {
+            if (!entry.getKey().startsWith(token) || ++scanned > MAX_PREFIX_SCAN) {
+                break;
+            }
+            int df = entry.getKey().equals(token) ? Integer.MAX_VALUE : entry.getValue().slots().length;
+            if (best.size() == MAX_PREFIX_TERMS && df <= frequency(best.get(best.size() - 1), token)) {
+                continue;
+            }
+            int at = best.size();
+            while (at > 0 && frequency(best.get(at - 1), token) < df) {
+                at--;
+            }
+            best.add(at, entry);
+            if (best.size() > MAX_PREFIX_TERMS) {
+                best.remove(best.size() - 1);
+            }
+        }
+        return best;
+    }
+
+    private static int frequency(Map.Entry<String, Postings> entry, String token) {
+        return entry.getKey().equals(token) ? Integer.MAX_VALUE : entry.getValue().slots().length;
+    }
+
+    private static Scores borrowScores() {
+        Scores scores = SCORES.poll();
+        if (scores == null) {
+            return new Scores();
+        }
+        pooledScores.decrementAndGet();
+        return scores;
+    }
+
+    private static void returnScores(Scores scores) {
+        // a buffer grown by an unusually broad query is left to the GC
+        if (scores.capacity() > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        if (pooledScores.incrementAndGet() > MAX_POOLED_SCORES) {
+            pooledScores.decrementAndGet();
+            return;
+        }
+        scores.reset();
+        SCORES.offer(scores);
+    }
+
+    // Score accumulators for one search: an open-addressing map from slot to score, sized by the
+    // postings a query actually touches rather than by the catalog. Only used entries are cleared.
+    private static final class Scores {
+        // slot + 1, 0 when empty
+        int[] keys;
+        float[] total;
+        float[] best;
+        int[] lastToken;
+        int[] matched;
+        // used table positions in insertion order
+        int[] used;
+        int size;
+
+        Scores() {
+            allocate(INITIAL_SCORES_CAPACITY);
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            total = new float[capacity];
+            best = new float[capacity];
+            lastToken = new int[capacity];
+            matched = new int[capacity];
+            used = new int[capacity / 2 + 1];
+        }
+
+        private int position(int slot) {
+            int mask = keys.length - 1;
+            // an odd multiplier permutes the low bits, so nearby slots spread out
+            int i = slot * 0x9E3779B9 & mask;
+            while (keys[i] != 0 && keys[i] != slot + 1) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            float[] oldTotal = total;
+            float[] oldBest = best;
+            int[] oldLastToken = lastToken;
+            int[] oldMatched = matched;
+            int[] oldUsed = used;
+            int oldSize = size;
+            allocate(keys.length * 2);
+            size = 0;
+            for (int u = 0; u < oldSize; u++) {
+                int from = oldUsed[u];
+                int to = position(oldKeys[from] - 1);
+                keys[to] = oldKeys[from];
+                total[to] = oldTotal[from];
+                best[to] = oldBest[from];
+                lastToken[to] = oldLastToken[from];
+                matched[to] = oldMatched[from];
+                used[size++] = to;
+            }
+        }
+
+        // a query word counts once per movie, through its best-scoring expansion
+        void add(int slot, int token, float score) {
+            if (size == used.length - 1) {
+                grow();
+            }
+            int i = position(slot);
+            if (keys[i] == 0) {
+                keys[i] = slot + 1;
+                used[size++] = i;
+            }
+            if (lastToken[i] != token) {
+                lastToken[i] = token;
+                matched[i]++;
+                best[i] = score;
+                total[i] += score;
+            } else if (score > best[i]) {
+                total[i] += score - best[i];
+                best[i] = score;
+            }
+        }
+
+        List<SearchHitDTO> top(Doc[] table, int tokens, int limit) {
+            int mostMatched = 0;
+            for (int u = 0; u < size; u++) {
+                mostMatched = Math.max(mostMatched, matched[used[u]]);
+            }
+            int required = mostMatched == tokens ? tokens : 0;
+
+            // insertion into a small sorted array beats a heap for limits this size
+            int[] top = new int[limit];
+            int count = 0;
+            for (int u = 0; u < size; u++) {
+                int i = used[u];
+                if (matched[i] < required || table[keys[i] - 1] == null) {
+                    continue;
+                }
+                if (count == limit && !better(table, i, top[count - 1])) {
+                    continue;
+                }
+                int at = count == limit ? count - 1 : count++;
+                while (at > 0 && better(table, i, top[at - 1])) {
+                    top[at] = top[at - 1];
+                    at--;
+                }
+                top[at] = i;
+            }
+
+            List<SearchHitDTO> hits = new ArrayList<>(count);
+            for (int t = 0; t < count; t++) {
+                Doc doc = table[keys[top[t]] - 1];
+                hits.add(new SearchHitDTO(doc.id(), doc.title(), doc.posterUrl(), total[top[t]]));
+            }
+            return hits;
+        }
+
+        private boolean better(Doc[] table, int a, int b) {
+            if (matched[a] != matched[b]) {
+                return matched[a] > matched[b];
+            }
+            if (total[a] != total[b]) {
+                return total[a] > total[b];
+            }
+            return table[keys[a] - 1].id() < table[keys[b] - 1].id();
+        }
+
+        void reset() {
+            for (int u = 0; u < size; u++) {
+                int i = used[u];
+                keys[i] = 0;
+                total[i] = 0;
+                best[i] = 0;
+                lastToken[i] = 0;
+                matched[i] = 0;
+            }
+            size = 0;
+        }
+    }
+
+    private static Doc toDoc(long id, int slot, String title, String description, String posterUrl) {
+        Map<String, Float> weights = new HashMap<>();
+        // a title made only of stop words ("It") is indexed as it is, or it could never be found
+        List<String> titleTerms = tokenize(title);
+        for (String term : titleTerms.isEmpty() ? split(title) : titleTerms) {
+            weights.merge(term, TITLE_WEIGHT, Float::sum);
+        }
+        for (String term : tokenize(description)) {
+            weights.merge(term, 1f, Float::sum);
+        }
+        // dampen repeated words so long descriptions do not drown out titles
+        weights.replaceAll((term, tf) -> (float) (1 + Math.log(tf)));
+        return new Doc(id, slot, title, posterUrl, weights);
+    }
+
+    // split() with stop words dropped
+    static List<String> tokenize(String text) {
+        List<String> tokens = split(text);
+        tokens.removeIf(STOP_WORDS::contains);
+        return tokens;
+    }
+
+    // lower-cased, accents stripped, split on anything that is not a letter or digit
+    private static List<String> split(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : SPLIT.split(folded)) {
+            if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
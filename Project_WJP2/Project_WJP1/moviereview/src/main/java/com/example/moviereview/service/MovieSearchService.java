@@ -0,0 +1,106 @@
+package com.example.moviereview.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.moviereview.dto.SearchHitDTO;
+import com.example.moviereview.event.MovieChangedEvent;
+import com.example.moviereview.repository.MovieRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Title/description search served from memory. Built from the catalog at startup and kept current
+// from committed movie changes.
+@Service
+@RequiredArgsConstructor
+public class MovieSearchService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final MovieRepository movieRepo;
+
+    private volatile MovieSearchIndex index = new MovieSearchIndex();
+
+    // movies changed while a rebuild was reading the catalog; replayed onto the new index
+    private final Object rebuildLock = new Object();
+    private boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+
+    public List<SearchHitDTO> search(String query, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return query == null ? List.of() : index.search(query, size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public int rebuild() {
+        return replaceIndex(() -> MovieSearchIndex.build(movieRepo.findCatalog()));
+    }
+
+    // Swaps in a freshly built index, then re-applies the movies that changed while it was built.
+    // Skipped when another rebuild is already running.
+    private int replaceIndex(Supplier<MovieSearchIndex> builder) {
+        synchronized (rebuildLock) {
+            if (rebuilding) {
+                return index.size();
+            }
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        MovieSearchIndex fresh;
+        try {
+            fresh = builder.get();
+        } catch (RuntimeException e) {
+            synchronized (rebuildLock) {
+                rebuilding = false;
+            }
+            throw e;
+        }
+        Set<Long> replay;
+        synchronized (rebuildLock) {
+            index = fresh;
+            rebuilding = false;
+            replay = new HashSet<>(changedDuringRebuild);
+        }
+        replay.forEach(this::reindex);
+        return fresh.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        if (event.movieId() == null) {
+            // rating rebuilds do not touch titles or descriptions
+            return;
+        }
+        synchronized (rebuildLock) {
+            if (rebuilding) {
+                changedDuringRebuild.add(event.movieId());
+            }
+        }
+        if (event.type() == MovieChangedEvent.Type.DELETED) {
+            index.remove(event.movieId());
+        } else {
+            reindex(event.movieId());
+        }
+        MovieSearchIndex current = index;
+        if (current.needsCompaction()) {
+            // in memory and only after many deletions; renumbers slots so the index stops growing
+            replaceIndex(current::compacted);
+        }
+    }
+
+    private void reindex(Long movieId) {
+        MovieSearchIndex current = index;
+        movieRepo.findById(movieId).ifPresentOrElse(
+                m -> current.put(m.getId(), m.getTitle(), m.getDescription(), m.getPosterUrl()),
+                () -> current.remove(movieId));
+    }
+}
@@ -1,17 +1,35 @@
 package com.example.moviereview.service;
 
+import com.example.moviereview.config.CacheConfig;
 import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.PageDTO;
+import com.example.moviereview.event.MovieChangedEvent;
 import com.example.moviereview.model.Movie;
 import com.example.moviereview.repository.MovieRepository;
 import com.example.moviereview.repository.ReviewRepository;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -19,29 +37,15 @@ public class MovieService {
 
     private final MovieRepository movieRepo;
     private final ReviewRepository reviewRepo;
+    private final MovieRatingService ratingService;
+    private final ApplicationEventPublisher events;
+
+    private static final Logger log = LoggerFactory.getLogger(MovieService.class);
+    private static final String DUPLICATE_TITLE = "A movie with this title already exists";
 
     private MovieDTO toDto(Movie m) {
-        MovieDTO dto = new MovieDTO();
-        dto.setId(m.getId());
-        dto.setTitle(m.getTitle());
-        dto.setDescription(m.getDescription());
-        dto.setPosterUrl(m.getPosterUrl());
-
-        List<Double> ratings = reviewRepo.findByMovieId(m.getId())
-                .stream()
-                .map(r -> r.getRating())
-                .toList();
-
-        if (!ratings.isEmpty()) {
-            double avg = ratings.stream()
-                    .mapToDouble(Double::doubleValue)
-                    .average()
-                    .orElse(0.0);
-            dto.setAverageRating(avg);
-        } else {
-            dto.setAverageRating(null);
-        }
-        return dto;
+        return new MovieDTO(m.getId(), m.getTitle(), m.getDescription(), m.getPosterUrl(),
+                ratingService.getAverage(m.getId()));
     }
 
     private Movie toEntity(MovieDTO dto) {
@@ -52,12 +56,89 @@ public class MovieService {
         return m;
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATALOG, key = "'all'")
     public List<MovieDTO> getAll() {
-        return movieRepo.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return List.copyOf(movieRepo.findCatalog());
+    }
+
+    // Cache key for a catalog page: the same page asked for as limit=100 or limit=9999 shares one key
+    public static String pageKey(String sort, String cursor, Integer limit) {
+        return (sort == null ? "title" : sort.toLowerCase(Locale.ROOT)) + ":" + cursor + ":" + CursorCodec.pageSize(limit);
+    }
+
+    // sort is one of "title", "id" or "rating" (best rated first, unrated last)
+    @Cacheable(cacheNames = CacheConfig.CATALOG_PAGES, key = "T(com.example.moviereview.service.MovieService).pageKey(#sort, #cursor, #limit)")
+    public PageDTO<MovieDTO> getPage(String sort, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        return switch (sort == null ? "title" : sort.toLowerCase(Locale.ROOT)) {
+            case "id" -> pageById(cursor, size);
+            case "title" -> pageByTitle(cursor, size);
+            case "rating" -> pageByRating(cursor, size);
+            default -> throw new RuntimeException("Unsupported sort: " + sort);
+        };
+    }
+
+    private PageDTO<MovieDTO> pageById(String cursor, int size) {
+        long afterId = cursor == null ? 0 : CursorCodec.parseId(CursorCodec.decode(cursor, 1)[0]);
+        List<MovieDTO> items = movieRepo.findCatalogPageById(afterId, Limit.of(size));
+        String next = items.size() < size ? null
+                : CursorCodec.encode(String.valueOf(last(items).getId()));
+        return new PageDTO<>(items, next);
+    }
+
+    private PageDTO<MovieDTO> pageByTitle(String cursor, int size) {
+        List<MovieDTO> items;
+        if (cursor == null) {
+            items = movieRepo.findCatalogPageByTitle(Limit.of(size));
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            items = movieRepo.findCatalogPageByTitle(key[1], CursorCodec.parseId(key[0]), Limit.of(size));
+        }
+        String next = items.size() < size ? null
+                : CursorCodec.encode(String.valueOf(last(items).getId()), last(items).getTitle());
+        return new PageDTO<>(items, next);
+    }
+
+    private PageDTO<MovieDTO> pageByRating(String cursor, int size) {
+        List<MovieDTO> items = new ArrayList<>(size);
+        long unratedAfterId = 0;
+        if (cursor == null) {
+            items.addAll(movieRepo.findCatalogPageByRating(Limit.of(size)));
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            if (key[1].isEmpty()) {
+                // already past the rated movies
+                unratedAfterId = CursorCodec.parseId(key[0]);
+            } else {
+                items.addAll(movieRepo.findCatalogPageByRating(parseRating(key[1]), CursorCodec.parseId(key[0]), Limit.of(size)));
+            }
+        }
+        if (items.size() < size) {
+            items.addAll(movieRepo.findUnratedCatalogPage(unratedAfterId, Limit.of(size - items.size())));
+        }
+
+        String next = null;
+        if (items.size() == size) {
+            MovieDTO lastItem = last(items);
+            String rating = lastItem.getAverageRating() == null ? "" : String.valueOf(lastItem.getAverageRating());
+            next = CursorCodec.encode(String.valueOf(lastItem.getId()), rating);
+        }
+        return new PageDTO<>(items, next);
+    }
+
+    private static MovieDTO last(List<MovieDTO> items) {
+        return items.get(items.size() - 1);
+    }
+
+    private static double parseRating(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
     }
 
+    @Cacheable(cacheNames = CacheConfig.MOVIE, key = "#id")
     public MovieDTO getById(Long id) {
         Movie m = movieRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
@@ -70,35 +151,113 @@ public class MovieService {
     //     return toDto(saved);
     // }
     //when admin add same movie to privent that we use this
+    @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CATALOG, CacheConfig.CATALOG_PAGES}, allEntries = true)
     public MovieDTO create(@Valid MovieDTO dto) {
-    // Check for existing movie with the same title (case-insensitive)
-    boolean exists = movieRepo.existsByTitleIgnoreCase(dto.getTitle());
+    // Check for existing movie with the same title (case, accents and punctuation ignored)
+    boolean exists = movieRepo.existsByNormalizedTitle(normalizedTitle(dto));
     if (exists) {
-        throw new RuntimeException("A movie with this title already exists");
+        throw new RuntimeException(DUPLICATE_TITLE);
     }
 
     Movie m = toEntity(dto);
-    Movie saved = movieRepo.save(m);
+    Movie saved;
+    try {
+        saved = movieRepo.save(m);
+    } catch (DataIntegrityViolationException e) {
+        // lost a race with a concurrent create; the unique index caught it
+        throw duplicateTitleOr(e);
+    }
+    ratingService.movieCreated(saved.getId());
+    events.publishEvent(new MovieChangedEvent(saved.getId(), MovieChangedEvent.Type.CREATED,
+            saved.getTitle(), saved.getPosterUrl()));
     return toDto(saved);
 }
 
+    // A title of only spaces or punctuation would normalize to "" and collide with every other such title
+    private static String normalizedTitle(MovieDTO dto) {
+        String normalized = Movie.normalizeTitle(dto.getTitle());
+        if (normalized == null || normalized.isEmpty()) {
+            throw new RuntimeException("Title must contain at least one letter or digit");
+        }
+        return normalized;
+    }
+
+    // Only the normalized-title index means a duplicate; any other constraint failure is passed on as is
+    private static RuntimeException duplicateTitleOr(DataIntegrityViolationException e) {
+        return isDuplicateTitle(e) ? new RuntimeException(DUPLICATE_TITLE) : e;
+    }
+
+    static boolean isDuplicateTitle(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        // not every dialect extracts the name; the driver's message still names the index
+        String detail = constraint != null ? constraint : e.getMostSpecificCause().getMessage();
+        return detail != null && detail.toLowerCase(Locale.ROOT).contains(Movie.NORMALIZED_TITLE_INDEX);
+    }
+
+    // Fills normalized_title for movies stored before the column existed. Titles that collide with
+    // another movie's are left empty and logged; they need renaming by hand.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillNormalizedTitles() {
+        List<Movie> missing = movieRepo.findByNormalizedTitleIsNull();
+        if (missing.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>(movieRepo.findAllNormalizedTitles());
+        for (Movie movie : missing) {
+            String normalized = Movie.normalizeTitle(movie.getTitle());
+            if (taken.add(normalized)) {
+                movie.setNormalizedTitle(normalized);
+            } else {
+                log.warn("Movie {} duplicates the title of another movie: {}", movie.getId(), movie.getTitle());
+            }
+        }
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIE, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.CATALOG, CacheConfig.CATALOG_PAGES}, allEntries = true)
+    })
+    @Transactional
     public MovieDTO update(Long id, @Valid MovieDTO dto) {
         Movie existing = movieRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Movie not found"));
+        String normalized = normalizedTitle(dto);
+        if (!Objects.equals(normalized, existing.getNormalizedTitle()) && movieRepo.existsByNormalizedTitleAndIdNot(normalized, id)) {
+            throw new RuntimeException(DUPLICATE_TITLE);
+        }
         existing.setTitle(dto.getTitle());
         existing.setDescription(dto.getDescription());
         existing.setPosterUrl(dto.getPosterUrl());
-        Movie updated = movieRepo.save(existing);
+        Movie updated;
+        try {
+            // flush now so a racing duplicate fails here rather than at commit
+            updated = movieRepo.saveAndFlush(existing);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateTitleOr(e);
+        }
+        events.publishEvent(new MovieChangedEvent(id, MovieChangedEvent.Type.UPDATED,
+                updated.getTitle(), updated.getPosterUrl()));
         return toDto(updated);
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIE, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.CATALOG, CacheConfig.CATALOG_PAGES}, allEntries = true)
+    })
     public void delete(Long id) {
         try {
-            // Delete all reviews for this movie first
+            // Reviews left over, if any: MovieDeletionService deletes them in chunks before calling this
             reviewRepo.deleteByMovieId(id);
 
             // Then delete the movie itself
             movieRepo.deleteById(id);
+            ratingService.movieDeleted(id);
+            events.publishEvent(new MovieChangedEvent(id, MovieChangedEvent.Type.DELETED));
         } catch (EmptyResultDataAccessException e) {
             throw new RuntimeException("Movie not found with id " + id);
         } catch (DataIntegrityViolationException e) {
@@ -0,0 +1,107 @@
+package com.example.moviereview.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// Response bodies kept as ready-to-send JSON bytes, plus a gzip copy when the body is big enough to
+// benefit. Each entry remembers the ETag it was built for; a request whose current ETag differs
+// rebuilds the entry, so bodies are only re-serialized after a ContentVersionService bump. Callers
+// read the ETag before the data, so an entry can only ever be older than its ETag claims, never newer.
+@Component
+public class ResponseBodyCache {
+
+    // below this the gzip framing and CPU are not worth it
+    static final int MIN_GZIP_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<String, Payload> cache;
+
+    public record Payload(String etag, byte[] json, byte[] gzip) {
+    }
+
+    public ResponseBodyCache(ObjectMapper objectMapper,
+                             @Value("${app.responses.cache.enabled:true}") boolean enabled,
+                             @Value("${app.responses.cache.maxBytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        // bounded by bytes, not entries: one full catalog can outweigh thousands of single movies
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Payload p) -> p.json().length + (p.gzip() == null ? 0 : p.gzip().length))
+                .recordStats()
+                .build();
+    }
+
+    // Concurrent requests for the same missing or outdated entry serialize it once; the others wait
+    public Payload get(String key, String etag, Supplier<?> body) {
+        if (!enabled) {
+            return serialize(etag, body.get());
+        }
+        Payload payload = cache.get(key, k -> serialize(etag, body.get()));
+        if (payload.etag().equals(etag)) {
+            return payload;
+        }
+        return cache.asMap().compute(key, (k, current) ->
+                current != null && current.etag().equals(etag) ? current : serialize(etag, body.get()));
+    }
+
+    public long weightInBytes() {
+        return cache.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    // a hit on an entry from an older version still counts as a hit here
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equals("gzip")) {
+                // "gzip;q=0" means the client refuses it
+                return !(parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?"));
+            }
+        }
+        return false;
+    }
+
+    private Payload serialize(String etag, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Payload(etag, json, json.length >= MIN_GZIP_BYTES ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
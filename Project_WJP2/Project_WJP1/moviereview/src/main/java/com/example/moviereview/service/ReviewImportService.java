@@ -0,0 +1,136 @@
+package com.example.moviereview.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.moviereview.dto.ReviewDTO;
+import com.example.moviereview.dto.ReviewImportResult;
+import com.example.moviereview.event.ReviewsBulkChangedEvent;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewJdbcRepository;
+import com.example.moviereview.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+// Bulk review loading: movies and users are resolved with a few IN queries for the whole request,
+// rows go in as JDBC batches, and the rating totals are updated once per movie
+@Service
+@RequiredArgsConstructor
+public class ReviewImportService {
+
+    public static final int MAX_ROWS = 50_000;
+
+    // keeps IN lists well under database parameter limits
+    private static final int LOOKUP_CHUNK = 1000;
+    private static final int MAX_COMMENT_LENGTH = 2000;
+
+    private final MovieRepository movieRepo;
+    private final UserRepository userRepo;
+    private final ReviewJdbcRepository reviewJdbc;
+    private final MovieRatingService ratingService;
+    private final ApplicationEventPublisher events;
+
+    @Transactional
+    public ReviewImportResult importReviews(List<ReviewDTO> reviews) {
+        long start = System.nanoTime();
+        if (reviews == null || reviews.isEmpty()) {
+            throw new RuntimeException("No reviews to import");
+        }
+        if (reviews.size() > MAX_ROWS) {
+            throw new RuntimeException("At most " + MAX_ROWS + " reviews per import");
+        }
+
+        Set<Long> movieIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (ReviewDTO dto : reviews) {
+            if (dto == null) {
+                continue;
+            }
+            if (dto.getMovieId() != null) {
+                movieIds.add(dto.getMovieId());
+            }
+            if (dto.getUserId() != null) {
+                userIds.add(dto.getUserId());
+            }
+        }
+        Set<Long> knownMovies = new HashSet<>(inChunks(movieIds, movieRepo::findExistingIds));
+        Map<Long, String> userNames = new HashMap<>();
+        for (Object[] row : inChunks(userIds, userRepo::findNamesByIds)) {
+            userNames.put((Long) row[0], (String) row[1]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReviewJdbcRepository.Row> rows = new ArrayList<>(reviews.size());
+        List<ReviewImportResult.Reject> rejected = new ArrayList<>();
+        // movieId -> {count, sum}
+        Map<Long, double[]> totals = new HashMap<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            ReviewDTO dto = reviews.get(i);
+            String reason = validate(dto, knownMovies, userNames);
+            if (reason != null) {
+                rejected.add(new ReviewImportResult.Reject(i, reason));
+                continue;
+            }
+            // keep the partner's name and date when given, like a migrated review should
+            String userName = dto.getUserName() != null ? dto.getUserName() : userNames.get(dto.getUserId());
+            LocalDateTime createdAt = dto.getCreatedAt() != null ? dto.getCreatedAt() : now;
+            rows.add(new ReviewJdbcRepository.Row(dto.getMovieId(), dto.getUserId(), userName,
+                    dto.getComment(), dto.getRating(), createdAt));
+            double[] t = totals.computeIfAbsent(dto.getMovieId(), id -> new double[2]);
+            t[0]++;
+            t[1] += dto.getRating();
+        }
+
+        int imported = rows.isEmpty() ? 0 : reviewJdbc.insertAll(rows);
+        if (!totals.isEmpty()) {
+            ratingService.reviewsAdded(totals);
+            events.publishEvent(new ReviewsBulkChangedEvent(totals.keySet(), imported, ReviewsBulkChangedEvent.Type.IMPORTED));
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = imported / Math.max(elapsedNanos / 1e9, 1e-9);
+        return new ReviewImportResult(reviews.size(), imported, elapsedNanos / 1_000_000, rowsPerSecond, rejected);
+    }
+
+    private static String validate(ReviewDTO dto, Set<Long> knownMovies, Map<Long, String> userNames) {
+        if (dto == null) {
+            return "Empty row";
+        }
+        if (dto.getMovieId() == null || !knownMovies.contains(dto.getMovieId())) {
+            return "Movie not found";
+        }
+        if (dto.getUserId() == null || !userNames.containsKey(dto.getUserId())) {
+            return "User not found";
+        }
+        if (dto.getComment() == null || dto.getComment().isBlank()) {
+            return "comment cannot be blank";
+        }
+        if (dto.getComment().length() > MAX_COMMENT_LENGTH) {
+            return "comment is longer than " + MAX_COMMENT_LENGTH + " characters";
+        }
+        if (dto.getRating() == null || dto.getRating() < 0 || dto.getRating() > 5) {
+            return "rating must be between 0 and 5";
+        }
+        return null;
+    }
+
+    private static <T> List<T> inChunks(Set<Long> ids, Function<Collection<Long>, List<T>> query) {
+        List<Long> all = new ArrayList<>(ids);
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK) {
+            results.addAll(query.apply(all.subList(from, Math.min(from + LOOKUP_CHUNK, all.size()))));
+        }
+        return results;
+    }
+}
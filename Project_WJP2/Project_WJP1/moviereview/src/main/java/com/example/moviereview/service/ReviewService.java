@@ -1,13 +1,31 @@
 package com.example.moviereview.service;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
-
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.moviereview.dto.PageDTO;
 import com.example.moviereview.dto.ReviewDTO;
+import com.example.moviereview.event.ReviewChangedEvent;
 import com.example.moviereview.model.Movie;
 import com.example.moviereview.model.Review;
 import com.example.moviereview.model.User;
@@ -17,6 +35,8 @@ import com.example.moviereview.repository.UserRepository;
 import com.example.moviereview.dto.RatingCountDTO;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -27,6 +47,15 @@ public class ReviewService {
     private final ReviewRepository reviewRepo;
     private final MovieRepository movieRepo;
     private final UserRepository userRepo;
+    private final MovieRatingService ratingService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final JdbcTemplate jdbc;
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewService.class);
+    static final LocalDateTime UNDATED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
 
  
     private ReviewDTO toDto(Review r) {
@@ -44,22 +73,107 @@ public class ReviewService {
 
     dto.setComment(r.getComment());
     dto.setRating(r.getRating());
+    dto.setCreatedAt(r.getCreatedAt());
     return dto;
 }
 
 
     public List<ReviewDTO> getAll() {
-        return reviewRepo.findAll().stream()
-                         .map(this::toDto)
-                         .collect(Collectors.toList());
+        return reviewRepo.findAllDtos();
+    }
+
+    // Writes every review as one JSON object per line; memory use does not depend on table size.
+    // Rows come out as DTOs, so nothing is managed and no author is loaded lazily.
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream target) {
+        BufferedOutputStream out = new BufferedOutputStream(target, 64 * 1024);
+        long written = 0;
+        try (Stream<ReviewDTO> reviews = reviewRepo.streamAllDtos()) {
+            var it = reviews.iterator();
+            while (it.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(it.next()));
+                out.write('\n');
+                if (++written % EXPORT_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
     }
 
     public List<ReviewDTO> getByMovie(Long movieId) {
-        return reviewRepo.findByMovieId(movieId).stream()
-                         .map(this::toDto)
-                         .collect(Collectors.toList());
+        return reviewRepo.findDtosByMovieId(movieId);
+    }
+
+    public PageDTO<ReviewDTO> getMoviePage(Long movieId, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        List<ReviewDTO> reviews;
+        if (cursor == null) {
+            reviews = reviewRepo.findMovieFeed(movieId, Limit.of(size));
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            reviews = reviewRepo.findMovieFeed(movieId, parseCreatedAt(key[1]), CursorCodec.parseId(key[0]), Limit.of(size));
+        }
+        return toPage(reviews, size);
+    }
+
+    public PageDTO<ReviewDTO> getUserPage(Long userId, String cursor, Integer limit) {
+        int size = CursorCodec.pageSize(limit);
+        List<ReviewDTO> reviews;
+        if (cursor == null) {
+            reviews = reviewRepo.findUserFeed(userId, Limit.of(size));
+        } else {
+            String[] key = CursorCodec.decode(cursor, 2);
+            reviews = reviewRepo.findUserFeed(userId, parseCreatedAt(key[1]), CursorCodec.parseId(key[0]), Limit.of(size));
+        }
+        return toPage(reviews, size);
+    }
+
+    private PageDTO<ReviewDTO> toPage(List<ReviewDTO> items, int size) {
+        String next = null;
+        if (items.size() == size) {
+            ReviewDTO last = items.get(items.size() - 1);
+            next = CursorCodec.encode(String.valueOf(last.getId()), String.valueOf(last.getCreatedAt()));
+        }
+        return new PageDTO<>(items, next);
+    }
+
+    // Reviews stored before created_at was NOT NULL may have none, which the feed cursor cannot
+    // carry. The epoch keeps them where MySQL already sorted them: after every dated review.
+    // ddl-auto=update does not tighten the column; run ALTER TABLE reviews MODIFY created_at
+    // DATETIME(6) NOT NULL once this has filled it. No index starts with created_at, so the fill
+    // scans the table: it only runs while the schema still allows NULLs.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCreatedAt() {
+        if (!createdAtNullable()) {
+            return;
+        }
+        int filled = reviewRepo.fillMissingCreatedAt(UNDATED);
+        log.warn("Set created_at of {} undated reviews to {}; make reviews.created_at NOT NULL to skip this check",
+                filled, UNDATED);
+    }
+
+    private boolean createdAtNullable() {
+        return Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) con -> {
+            try (ResultSet columns = con.getMetaData().getColumns(con.getCatalog(), con.getSchema(), "reviews", "created_at")) {
+                // a column the metadata does not show is filled anyway, to be safe
+                return !columns.next() || !"NO".equals(columns.getString("IS_NULLABLE"));
+            }
+        }));
+    }
+
+    private static LocalDateTime parseCreatedAt(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
     }
 
+    @Transactional
     public ReviewDTO create(@Valid ReviewDTO dto, Authentication auth) {
         String email = auth.getName();
         User user = userRepo.findByEmail(email)
@@ -77,23 +191,30 @@ public class ReviewService {
         r.setCreatedAt(LocalDateTime.now()); // Optional: save creation time
 
         Review saved = reviewRepo.save(r);
-        return toDto(saved);
+        ratingService.reviewAdded(movie.getId(), saved.getRating());
+        ReviewDTO created = toDto(saved);
+        events.publishEvent(new ReviewChangedEvent(created, ReviewChangedEvent.Type.ADDED));
+        return created;
     }
 
+    @Transactional
     public void delete(Long id) {
-        reviewRepo.deleteById(id);
+        reviewRepo.findById(id).ifPresent(r -> {
+            ReviewDTO removed = toDto(r);
+            reviewRepo.delete(r);
+            ratingService.reviewRemoved(r.getMovie().getId(), r.getRating());
+            events.publishEvent(new ReviewChangedEvent(removed, ReviewChangedEvent.Type.REMOVED));
+        });
     }
 
 public List<ReviewDTO> findReviewsByUserId(Long userId) {
-    return reviewRepo.findByUserId(userId).stream()
-                     .map(this::toDto)
-                     .collect(Collectors.toList());
+    return reviewRepo.findDtosByUserId(userId);
 }
 
 public List<RatingCountDTO> getRatingCountsByMovie(Long movieId) {
     List<Object[]> results = reviewRepo.countReviewsByRatingForMovie(movieId);
     return results.stream()
-        .map(obj -> new RatingCountDTO((Integer) obj[0], ((Long) obj[1]).intValue()))
+        .map(obj -> new RatingCountDTO(((Number) obj[0]).intValue(), ((Number) obj[1]).longValue()))
         .collect(Collectors.toList());
 }
 
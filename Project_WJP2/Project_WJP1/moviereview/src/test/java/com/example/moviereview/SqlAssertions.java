@@ -0,0 +1,28 @@
+package com.example.moviereview;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.moviereview.config.RequestQueryStats;
+
+// Pins the number of SQL statements Hibernate issues on this thread while an action runs.
+// Works around MockMvc calls too, since request scopes nest inside the one opened here.
+public final class SqlAssertions {
+
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private SqlAssertions() {
+    }
+
+    public static RequestQueryStats.Counts measure(Action action) throws Exception {
+        try (RequestQueryStats.Counts counts = RequestQueryStats.begin()) {
+            action.run();
+            return counts;
+        }
+    }
+
+    public static void assertStatements(long expected, Action action) throws Exception {
+        assertEquals(expected, measure(action).getStatements(), "SQL statements");
+    }
+}
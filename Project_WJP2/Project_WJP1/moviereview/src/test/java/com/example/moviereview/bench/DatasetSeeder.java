@@ -0,0 +1,107 @@
+package com.example.moviereview.bench;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.service.MovieRatingService;
+
+// Bulk-loads a synthetic catalog through JDBC batches; going through JPA would take hours at 1M reviews.
+// Ids come out as 1..n in insertion order on a fresh database. Every user's password is "secret".
+public final class DatasetSeeder {
+
+    public static final String PASSWORD = "secret";
+
+    // The harnesses log in from one address, often as one user; with the production limits most of
+    // those logins would be 429s and the runs would measure the limiter instead of hashing.
+    // Command-line arguments, because application.properties sets the limits and beats builder defaults.
+    public static final String[] UNTHROTTLED_AUTH = {
+            "--app.auth.rateLimit.ip.capacity=1000000000",
+            "--app.auth.rateLimit.ip.perMinute=1000000000",
+            "--app.auth.rateLimit.email.capacity=1000000000",
+            "--app.auth.rateLimit.email.perMinute=1000000000"
+    };
+
+    // the harness's own arguments followed by UNTHROTTLED_AUTH
+    public static String[] unthrottled(String... args) {
+        return Stream.concat(Arrays.stream(args), Arrays.stream(UNTHROTTLED_AUTH)).toArray(String[]::new);
+    }
+
+    private static final int BATCH = 5000;
+
+    private DatasetSeeder() {
+    }
+
+    public static void seed(ApplicationContext ctx, int movies, int reviews, int users) {
+        JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+        // one BCrypt hash shared by every user, hashing 100k passwords would dominate setup
+        String hash = ctx.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        batch(jdbc, "INSERT INTO user (name, email, password, role) VALUES (?, ?, ?, ?)", users, (ps, i) -> {
+            ps.setString(1, "User " + i);
+            ps.setString(2, email(i));
+            ps.setString(3, hash);
+            ps.setString(4, "USER");
+        });
+
+        batch(jdbc, "INSERT INTO movies (title, normalized_title, description, poster_url) VALUES (?, ?, ?, ?)", movies, (ps, i) -> {
+            ps.setString(1, "Movie " + i);
+            ps.setString(2, Movie.normalizeTitle("Movie " + i));
+            ps.setString(3, "Synthetic description for movie number " + i + ". ".repeat(20));
+            ps.setString(4, "https://example.com/posters/" + i + ".jpg");
+        });
+
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        batch(jdbc, "INSERT INTO reviews (movie_id, user_id, user_name, comment, rating, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                reviews, (ps, i) -> {
+                    // skewed towards low ids so some titles are blockbusters
+                    long movie = 1 + (long) (movies * Math.pow(random.nextDouble(), 3));
+                    long user = 1 + random.nextInt(users);
+                    ps.setLong(1, movie);
+                    ps.setLong(2, user);
+                    ps.setString(3, "User " + user);
+                    ps.setString(4, "Synthetic review " + i + " with a couple of sentences of text. ".repeat(3));
+                    ps.setDouble(5, 1 + random.nextInt(5));
+                    ps.setTimestamp(6, Timestamp.valueOf(now.minusMinutes(random.nextInt(90 * 24 * 60))));
+                });
+
+        ctx.getBean(MovieRatingService.class).rebuildAll();
+    }
+
+    public static String email(long i) {
+        return "user" + i + "@example.com";
+    }
+
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    private static void batch(JdbcTemplate jdbc, String sql, int rows, RowSetter setter) {
+        for (int start = 1; start <= rows; start += BATCH) {
+            int from = start;
+            int count = Math.min(BATCH, rows - start + 1);
+            jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    setter.set(ps, from + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+            });
+        }
+    }
+}
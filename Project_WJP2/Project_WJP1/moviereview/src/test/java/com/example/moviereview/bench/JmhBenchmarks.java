@@ -0,0 +1,34 @@
+package com.example.moviereview.bench;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+// Runs the JMH microbenchmarks with allocation profiling (gc.alloc.rate.norm = bytes per op).
+// Run with: mvn test -Pbenchmark -Dtest=JmhBenchmarks [-Djmh.include=Serialization]
+// Results are also written to target/jmh-results.json.
+@Tag("benchmark")
+class JmhBenchmarks {
+
+    @Test
+    void run() throws Exception {
+        Options options = new OptionsBuilder()
+                .include("com\\.example\\.moviereview\\..*" + System.getProperty("jmh.include", "") + ".*Benchmark")
+                .exclude("ThreadModeBenchmark")
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmupIterations", 3))
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-results.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.moviereview.bench;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// HTTP load with per-scenario latency recording, either closed-loop (fixed concurrency,
+// back-to-back requests) or open-loop (fixed arrival rate).
+public class LoadDriver {
+
+    public record Scenario(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    public record Result(String name, long requests, long errors, double perSecond, double p50Ms, double p99Ms, double maxMs) {
+        @Override
+        public String toString() {
+            return String.format("%-28s %8d req %6d err %9.1f req/s  p50 %7.2f ms  p99 %8.2f ms  max %8.2f ms",
+                    name, requests, errors, perSecond, p50Ms, p99Ms, maxMs);
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public Map<String, Result> run(List<Scenario> scenarios, int concurrency, Duration warmup, Duration measure)
+            throws InterruptedException {
+        drive(scenarios, concurrency, warmup);
+        return drive(scenarios, concurrency, measure);
+    }
+
+    // Latency is measured from each request's scheduled start, so a stalled server shows up
+    // in the percentiles instead of silently lowering the offered load
+    public Map<String, Result> runAtRate(List<Scenario> scenarios, double perSecond, Duration warmup, Duration measure)
+            throws InterruptedException {
+        driveAtRate(scenarios, perSecond, warmup);
+        return driveAtRate(scenarios, perSecond, measure);
+    }
+
+    private Map<String, Result> drive(List<Scenario> scenarios, int concurrency, Duration duration)
+            throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Recorder> recorders = new ArrayList<>();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Recorder recorder = new Recorder(scenarios.size());
+                recorders.add(recorder);
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        int index = pick(scenarios, totalWeight);
+                        long start = System.nanoTime();
+                        boolean ok = send(scenarios.get(index));
+                        recorder.record(index, System.nanoTime() - start, ok);
+                    }
+                    return null;
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        return summarize(scenarios, recorders, duration);
+    }
+
+    private Map<String, Result> driveAtRate(List<Scenario> scenarios, double perSecond, Duration duration)
+            throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(Scenario::weight).sum();
+        long intervalNanos = (long) (1e9 / perSecond);
+        long total = (long) (perSecond * duration.toNanos() / 1e9);
+        Recorder recorder = new Recorder(scenarios.size());
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long begin = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long scheduled = begin + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                int index = pick(scenarios, totalWeight);
+                workers.submit(() -> {
+                    boolean ok = send(scenarios.get(index));
+                    long latency = System.nanoTime() - scheduled;
+                    synchronized (recorder) {
+                        recorder.record(index, latency, ok);
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(60, TimeUnit.SECONDS);
+        }
+        return summarize(scenarios, List.of(recorder), duration);
+    }
+
+    // Sends each scenario 'samples' times, one at a time, and reports how far 'counter' moved per request
+    public Map<String, Double> perRequest(List<Scenario> scenarios, int samples, LongSupplier counter) {
+        Map<String, Double> out = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            long before = counter.getAsLong();
+            for (int i = 0; i < samples; i++) {
+                send(scenario);
+            }
+            out.put(scenario.name(), (counter.getAsLong() - before) / (double) samples);
+        }
+        return out;
+    }
+
+    private boolean send(Scenario scenario) {
+        try {
+            HttpResponse<Void> response = client.send(scenario.request().get(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Map<String, Result> summarize(List<Scenario> scenarios, List<Recorder> recorders, Duration duration) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        double seconds = duration.toNanos() / 1e9;
+        for (int s = 0; s < scenarios.size(); s++) {
+            int scenario = s;
+            long[] all = merge(recorders, scenario);
+            long errors = recorders.stream().mapToLong(r -> r.errors[scenario]).sum();
+            Arrays.sort(all);
+            results.put(scenarios.get(s).name(), new Result(scenarios.get(s).name(), all.length, errors,
+                    all.length / seconds, percentile(all, 0.50), percentile(all, 0.99), percentile(all, 1.0)));
+        }
+        return results;
+    }
+
+    private static int pick(List<Scenario> scenarios, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            roll -= scenarios.get(i).weight();
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return scenarios.size() - 1;
+    }
+
+    private static long[] merge(List<Recorder> recorders, int scenario) {
+        int size = recorders.stream().mapToInt(r -> r.counts[scenario]).sum();
+        long[] merged = new long[size];
+        int offset = 0;
+        for (Recorder r : recorders) {
+            System.arraycopy(r.latencies[scenario], 0, merged, offset, r.counts[scenario]);
+            offset += r.counts[scenario];
+        }
+        return merged;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    // One per worker thread in closed-loop mode, so recording needs no synchronization there
+    private static class Recorder {
+        final long[][] latencies;
+        final int[] counts;
+        final long[] errors;
+
+        Recorder(int scenarios) {
+            latencies = new long[scenarios][1024];
+            counts = new int[scenarios];
+            errors = new long[scenarios];
+        }
+
+        void record(int scenario, long nanos, boolean ok) {
+            if (!ok) {
+                errors[scenario]++;
+            }
+            if (counts[scenario] == latencies[scenario].length) {
+                latencies[scenario] = Arrays.copyOf(latencies[scenario], counts[scenario] * 2);
+            }
+            latencies[scenario][counts[scenario]++] = nanos;
+        }
+    }
+}
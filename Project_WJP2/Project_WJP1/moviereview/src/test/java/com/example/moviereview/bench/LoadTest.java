@@ -0,0 +1,131 @@
+package com.example.moviereview.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.moviereview.MoviereviewApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// End-to-end mixed traffic against the full app on an in-memory MySQL-mode H2 database.
+// Run with: mvn test -Pbenchmark -Dtest=LoadTest
+//   -Dload.movies=10000 -Dload.reviews=1000000 -Dload.users=100000 -Dload.rate=200 -Dload.seconds=60
+@Tag("benchmark")
+class LoadTest {
+
+    private static final int MOVIES = Integer.getInteger("load.movies", 10_000);
+    private static final int REVIEWS = Integer.getInteger("load.reviews", 1_000_000);
+    private static final int USERS = Integer.getInteger("load.users", 100_000);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.seconds", 60));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmupSeconds", 10));
+    private static final int LOGGED_IN_USERS = 50;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient setupClient = HttpClient.newHttpClient();
+
+    @Test
+    void mixedTraffic() throws Exception {
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(MoviereviewApplication.class)
+                .profiles("test")
+                // arguments, since builder properties are only defaults and the test profile overrides them
+                .run(DatasetSeeder.unthrottled("--server.port=0",
+                        "--spring.cache.type=caffeine",
+                        "--app.responses.cache.enabled=true",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "--app.sql.budget.fail=false",
+                        "--logging.level.root=WARN"));
+        try {
+            long seedStart = System.nanoTime();
+            DatasetSeeder.seed(ctx, MOVIES, REVIEWS, USERS);
+            System.out.printf("%nSeeded %d movies, %d reviews, %d users in %.1fs%n",
+                    MOVIES, REVIEWS, USERS, (System.nanoTime() - seedStart) / 1e9);
+
+            String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            List<String> tokens = new ArrayList<>();
+            for (int i = 1; i <= LOGGED_IN_USERS; i++) {
+                tokens.add(login(base, DatasetSeeder.email(i)));
+            }
+
+            List<LoadDriver.Scenario> scenarios = scenarios(base, tokens);
+            LoadDriver driver = new LoadDriver();
+            Map<String, LoadDriver.Result> results = driver.runAtRate(scenarios, RATE, WARMUP, DURATION);
+
+            Statistics stats = ctx.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            stats.setStatisticsEnabled(true);
+            Map<String, Double> sqlPerRequest = driver.perRequest(scenarios, 50, stats::getPrepareStatementCount);
+
+            System.out.printf("=== %.0f req/s offered for %ds%n", RATE, DURATION.toSeconds());
+            for (LoadDriver.Result result : results.values()) {
+                System.out.printf("%s  sql/req %6.2f%n", result, sqlPerRequest.get(result.name()));
+            }
+        } finally {
+            ctx.close();
+        }
+    }
+
+    private List<LoadDriver.Scenario> scenarios(String base, List<String> tokens) {
+        return List.of(
+                new LoadDriver.Scenario("GET /api/movies (page)", 25, () -> {
+                    String sort = ThreadLocalRandom.current().nextBoolean() ? "title" : "rating";
+                    return get(base + "/api/movies?limit=20&sort=" + sort, null);
+                }),
+                new LoadDriver.Scenario("GET /api/movies?all=true", 1, () -> get(base + "/api/movies?all=true", null)),
+                new LoadDriver.Scenario("GET /api/movies/{id}", 30, () -> get(base + "/api/movies/" + random(MOVIES), null)),
+                new LoadDriver.Scenario("GET /api/reviews/movie/{id}", 25, () -> get(base + "/api/reviews/movie/" + random(MOVIES), null)),
+                new LoadDriver.Scenario("GET /api/reviews/user/{id}", 5, () -> {
+                    int user = (int) random(LOGGED_IN_USERS);
+                    return get(base + "/api/reviews/user/" + user, tokens.get(user - 1));
+                }),
+                new LoadDriver.Scenario("POST /api/reviews", 8, () -> {
+                    String body = "{\"movieId\":" + random(MOVIES) + ",\"rating\":4,\"comment\":\"Load test review\"}";
+                    return post(base + "/api/reviews", body, tokens.get((int) random(LOGGED_IN_USERS) - 1));
+                }),
+                new LoadDriver.Scenario("POST /api/auth/login", 6, () -> post(base + "/api/auth/login",
+                        "{\"email\":\"" + DatasetSeeder.email(random(USERS)) + "\",\"password\":\"" + DatasetSeeder.PASSWORD + "\"}", null)));
+    }
+
+    private String login(String base, String email) throws Exception {
+        HttpResponse<String> response = setupClient.send(post(base + "/api/auth/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + DatasetSeeder.PASSWORD + "\"}", null),
+                HttpResponse.BodyHandlers.ofString());
+        return mapper.readTree(response.body()).get("token").asText();
+    }
+
+    private static long random(int bound) {
+        return ThreadLocalRandom.current().nextLong(1, bound + 1);
+    }
+
+    private static HttpRequest get(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static HttpRequest post(String url, String json, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
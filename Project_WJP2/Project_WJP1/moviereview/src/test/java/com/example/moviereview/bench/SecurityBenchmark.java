@@ -0,0 +1,69 @@
+package com.example.moviereview.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.moviereview.model.User;
+import com.example.moviereview.security.CustomUserDetails;
+import com.example.moviereview.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecurityBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "benchmark-secret");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 86_400_000L);
+        token = jwtUtil.generateToken(42L, "bench@example.com", "USER");
+
+        user = new User();
+        user.setId(42L);
+        user.setEmail("bench@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setRole("USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims parseVerifiedClaims() {
+        return jwtUtil.parseVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public CustomUserDetails principalFromClaims() {
+        return new CustomUserDetails(42L, "bench@example.com", null, List.of(new SimpleGrantedAuthority("USER")));
+    }
+
+    @Benchmark
+    public CustomUserDetails principalFromEntity() {
+        return new CustomUserDetails(user);
+    }
+}
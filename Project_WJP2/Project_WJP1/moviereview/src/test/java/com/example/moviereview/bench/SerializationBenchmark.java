@@ -0,0 +1,66 @@
+package com.example.moviereview.bench;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.ReviewDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Response bodies at catalog-page and full-catalog sizes, with the same mapper setup Spring MVC uses
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"20", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<MovieDTO> movies;
+    private List<ReviewDTO> reviews;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        movies = new ArrayList<>(size);
+        reviews = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            movies.add(new MovieDTO((long) i, "Movie title " + i, "A description of movie " + i + " ".repeat(200),
+                    "https://example.com/posters/" + i + ".jpg", 3.5 + (i % 3) * 0.5));
+
+            ReviewDTO review = new ReviewDTO();
+            review.setId((long) i);
+            review.setMovieId((long) (i % 100));
+            review.setUserId((long) (i % 1000));
+            review.setUserName("User " + i);
+            review.setComment("A fairly typical review comment of a few sentences. ".repeat(4));
+            review.setRating((double) (i % 5 + 1));
+            review.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(i));
+            reviews.add(review);
+        }
+    }
+
+    @Benchmark
+    public byte[] movieList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] reviewList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(reviews);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.moviereview.bench;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.moviereview.MoviereviewApplication;
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.model.Review;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+import com.example.moviereview.service.MovieRatingService;
+
+// Same mixed workload against platform-thread Tomcat and virtual-thread Tomcat.
+// Run with: mvn test -Pbenchmark -Dtest=ThreadModeBenchmark [-Dbench.concurrency=400 -Dbench.seconds=30]
+@Tag("benchmark")
+class ThreadModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 200);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("bench.seconds", 15));
+    private static final int MOVIES = 200;
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Map<String, LoadDriver.Result> platform = run(false);
+        Map<String, LoadDriver.Result> virtual = run(true);
+
+        System.out.println("\n=== platform threads (concurrency " + CONCURRENCY + ", " + DURATION.toSeconds() + "s)");
+        platform.values().forEach(System.out::println);
+        System.out.println("=== virtual threads");
+        virtual.values().forEach(System.out::println);
+    }
+
+    private Map<String, LoadDriver.Result> run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(MoviereviewApplication.class)
+                .profiles("test")
+                // arguments, since builder properties are only defaults and the test profile overrides them
+                .run(DatasetSeeder.unthrottled("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:bench" + virtualThreads
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--app.sql.budget.fail=false",
+                        "--logging.level.root=WARN"));
+        try {
+            seed(ctx);
+            String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            List<LoadDriver.Scenario> scenarios = List.of(
+                    new LoadDriver.Scenario("GET /api/movies/{id}", 60, () -> get(base + "/api/movies/" + randomMovie())),
+                    new LoadDriver.Scenario("GET /api/reviews/movie/{id}", 30, () -> get(base + "/api/reviews/movie/" + randomMovie())),
+                    new LoadDriver.Scenario("POST /api/auth/login", 10, () -> HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"bench@example.com\",\"password\":\"secret\"}"))
+                            .build()));
+            return new LoadDriver().run(scenarios, CONCURRENCY, Duration.ofSeconds(3), DURATION);
+        } finally {
+            ctx.close();
+        }
+    }
+
+    private static long randomMovie() {
+        return ThreadLocalRandom.current().nextLong(1, MOVIES + 1);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private void seed(ConfigurableApplicationContext ctx) {
+        UserRepository users = ctx.getBean(UserRepository.class);
+        MovieRepository movies = ctx.getBean(MovieRepository.class);
+        ReviewRepository reviews = ctx.getBean(ReviewRepository.class);
+
+        User user = new User();
+        user.setName("Bench");
+        user.setEmail("bench@example.com");
+        user.setPassword(ctx.getBean(PasswordEncoder.class).encode("secret"));
+        user.setRole("USER");
+        users.save(user);
+
+        for (int i = 1; i <= MOVIES; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setDescription("Description " + i);
+            movie = movies.save(movie);
+            for (int j = 0; j < 20; j++) {
+                Review review = new Review();
+                review.setMovie(movie);
+                review.setUser(user);
+                review.setUserName(user.getName());
+                review.setComment("Review " + j + " of movie " + i);
+                review.setRating((double) (j % 5 + 1));
+                reviews.save(review);
+            }
+        }
+        ctx.getBean(MovieRatingService.class).rebuildAll();
+    }
+}
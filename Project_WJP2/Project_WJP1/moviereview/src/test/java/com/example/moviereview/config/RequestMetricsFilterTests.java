@@ -0,0 +1,38 @@
+package com.example.moviereview.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestMetricsFilterTests {
+
+    @Test
+    void eachEndpointGetsOneSetOfSummaries() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestMetricsFilter filter = new RequestMetricsFilter(registry);
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("GET", "/api/movies/{id}"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+        filter.doFilter(request("DELETE", "/api/movies/{id}"), new MockHttpServletResponse(), new MockFilterChain());
+
+        DistributionSummary get = registry.get("hibernate.request.statements")
+                .tag("uri", "/api/movies/{id}").tag("method", "GET").summary();
+        assertEquals(3, get.count());
+        assertEquals(2, registry.get("hibernate.request.statements").summaries().size());
+        assertEquals(2, registry.get("hibernate.request.collection.fetches").summaries().size());
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.moviereview.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+@ExtendWith(OutputCaptureExtension.class)
+class RequestQueryStatsTests {
+
+    @Test
+    void strictModeThrowsOnTheFirstStatementOverBudget() {
+        StatementInspector inspector = inspector(true);
+        try (RequestQueryStats.Counts counts = RequestQueryStats.begin()) {
+            counts.setBudget(1, "Controller#read()");
+            inspector.inspect("select 1");
+            SqlBudgetExceededException e = assertThrows(SqlBudgetExceededException.class, () -> inspector.inspect("select 2"));
+            assertTrue(e.getMessage().contains("Controller#read() exceeded its budget of 1 SQL statements at: select 2"));
+        }
+    }
+
+    @Test
+    void warnModeLogsTheFirstOverrunAndCarriesOn(CapturedOutput output) {
+        StatementInspector inspector = inspector(false);
+        try (RequestQueryStats.Counts counts = RequestQueryStats.begin()) {
+            counts.setBudget(1, "Controller#read()");
+            for (int i = 1; i <= 4; i++) {
+                String sql = "select " + i;
+                assertDoesNotThrow(() -> inspector.inspect(sql));
+            }
+            assertEquals(4, counts.getStatements());
+        }
+        assertTrue(output.getOut().contains("Controller#read() went over its budget of 1 SQL statements, next statement: select 2"));
+        // one warning per scope, not one per statement
+        assertFalse(output.getOut().contains("next statement: select 3"));
+    }
+
+    @Test
+    void statementsOutsideAScopeAreNotCounted() {
+        assertDoesNotThrow(() -> inspector(true).inspect("select 1"));
+    }
+
+    private static StatementInspector inspector(boolean fail) {
+        Map<String, Object> properties = new HashMap<>();
+        new RequestQueryStats().requestQueryStatsCustomizer(fail).customize(properties);
+        return (StatementInspector) properties.get("hibernate.session_factory.statement_inspector");
+    }
+}
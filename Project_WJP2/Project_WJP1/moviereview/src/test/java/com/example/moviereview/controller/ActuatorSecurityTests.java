@@ -0,0 +1,55 @@
+package com.example.moviereview.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.UserRepository;
+import com.example.moviereview.security.JwtUtil;
+
+// Actuator endpoints need an admin token even from the local host, since a reverse proxy on the
+// same machine would otherwise pass every outside request through as 127.0.0.1
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActuatorSecurityTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void onlyAdminsReachTheActuator() throws Exception {
+        mvc.perform(get("/actuator/health").with(r -> {
+                    r.setRemoteAddr("127.0.0.1");
+                    return r;
+                }))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/health").header("Authorization", "Bearer " + token("USER")))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/health").header("Authorization", "Bearer " + token("ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    private String token(String role) {
+        User u = new User();
+        u.setName("Actuator " + role);
+        u.setEmail("actuator-" + role.toLowerCase() + "-" + System.nanoTime() + "@example.com");
+        u.setPassword("x");
+        u.setRole(role);
+        u = userRepo.save(u);
+        return jwtUtil.generateToken(u.getId(), u.getEmail(), u.getRole());
+    }
+}
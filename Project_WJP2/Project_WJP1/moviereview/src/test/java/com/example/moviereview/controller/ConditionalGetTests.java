@@ -0,0 +1,129 @@
+package com.example.moviereview.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+import com.example.moviereview.security.JwtUtil;
+import com.example.moviereview.service.MovieRatingService;
+
+// Revalidation of movie and review reads: If-None-Match gets a 304 until a write changes the ETag,
+// and If-Modified-Since alone never does, since Last-Modified is not sent
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MovieRepository movieRepo;
+
+    @Autowired
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private MovieRatingService ratingService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private Movie movie;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+
+        Movie m = new Movie();
+        m.setTitle("Revalidated");
+        movie = movieRepo.save(m);
+        ratingService.rebuildAll();
+
+        User u = new User();
+        u.setName("Reviewer");
+        u.setEmail("reviewer@example.com");
+        u.setPassword(passwordEncoder.encode("secret"));
+        u.setRole("USER");
+        u = userRepo.save(u);
+        userToken = jwtUtil.generateToken(u.getId(), u.getEmail(), u.getRole());
+    }
+
+    @Test
+    void matchingEtagIsNotModifiedUntilAReviewChangesIt() throws Exception {
+        String[] urls = {"/api/movies", "/api/movies/" + movie.getId(), "/api/reviews/movie/" + movie.getId()};
+        String[] etags = new String[urls.length];
+        for (int i = 0; i < urls.length; i++) {
+            etags[i] = etag(urls[i]);
+            mvc.perform(get(urls[i]).header(HttpHeaders.IF_NONE_MATCH, etags[i]))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, etags[i]));
+        }
+
+        mvc.perform(post("/api/reviews")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"movieId\":" + movie.getId() + ",\"rating\":4,\"comment\":\"Nice\"}"))
+                .andExpect(status().isOk());
+
+        // the review shows up in the list and changes the average on the movie and in the catalog
+        for (int i = 0; i < urls.length; i++) {
+            String fresh = mvc.perform(get(urls[i]).header(HttpHeaders.IF_NONE_MATCH, etags[i]))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertNotEquals(etags[i], fresh, urls[i]);
+        }
+    }
+
+    @Test
+    void ifModifiedSinceAloneAlwaysGetsTheBody() throws Exception {
+        String future = ZonedDateTime.now().plusDays(1).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        for (String url : new String[] {"/api/movies", "/api/movies/" + movie.getId(), "/api/reviews/movie/" + movie.getId()}) {
+            mvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, future))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        }
+    }
+
+    private String etag(String url) throws Exception {
+        return mvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
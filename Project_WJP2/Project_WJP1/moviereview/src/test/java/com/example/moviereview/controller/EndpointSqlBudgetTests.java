@@ -0,0 +1,229 @@
+package com.example.moviereview.controller;
+
+import static com.example.moviereview.SqlAssertions.assertStatements;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.moviereview.config.SqlBudget;
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.model.Review;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.FeedbackRepository;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+import com.example.moviereview.security.JwtUtil;
+import com.example.moviereview.service.MovieRatingService;
+
+// Pins the SQL statement count of every endpoint. Budgets (@SqlBudget) fail the request in tests,
+// so an N+1 regression shows up here as a 500 or as a changed count.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(EndpointSqlBudgetTests.OverBudgetController.class)
+class EndpointSqlBudgetTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MovieRepository movieRepo;
+
+    @Autowired
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private FeedbackRepository feedbackRepo;
+
+    @Autowired
+    private MovieRatingService ratingService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User user;
+    private String userToken;
+    private String adminToken;
+    private Movie movie;
+    private Review review;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+        feedbackRepo.deleteAllInBatch();
+
+        user = saveUser("user@example.com", "USER");
+        User admin = saveUser("admin@example.com", "ADMIN");
+        userToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
+        adminToken = jwtUtil.generateToken(admin.getId(), admin.getEmail(), admin.getRole());
+
+        for (int i = 0; i < 5; i++) {
+            Movie m = new Movie();
+            m.setTitle("Movie " + i);
+            m = movieRepo.save(m);
+            for (int j = 0; j < 5; j++) {
+                Review r = new Review();
+                r.setMovie(m);
+                r.setUser(user);
+                r.setUserName(user.getName());
+                r.setComment("Comment");
+                r.setRating(1.0 + j);
+                review = reviewRepo.save(r);
+            }
+            movie = m;
+        }
+        ratingService.rebuildAll();
+
+        // token re-checks load the user once a minute; get them out of the way
+        mvc.perform(as(userToken, get("/api/reviews/user/" + user.getId())));
+        mvc.perform(as(adminToken, get("/api/users")));
+    }
+
+    @Test
+    void movieReads() throws Exception {
+        assertStatements(1, () -> ok(get("/api/movies")));
+        assertStatements(1, () -> ok(get("/api/movies?sort=rating&limit=3")));
+        // the worst case: the rated movies run out and the page continues with unrated ones
+        Movie unrated = new Movie();
+        unrated.setTitle("Unrated");
+        movieRepo.save(unrated);
+        assertStatements(2, () -> ok(get("/api/movies?sort=rating&limit=10")));
+        assertStatements(1, () -> ok(get("/api/movies?all=true")));
+        assertStatements(2, () -> ok(get("/api/movies/" + movie.getId())));
+        assertStatements(0, () -> ok(get("/api/movies/search?q=mov")));
+        assertStatements(0, () -> ok(get("/api/movies/top")));
+        assertStatements(0, () -> ok(get("/api/movies/trending?limit=5")));
+    }
+
+    @Test
+    void movieWrites() throws Exception {
+        String json = "{\"title\":\"New\",\"description\":\"d\",\"posterUrl\":\"p\"}";
+        assertStatements(4, () -> ok(as(adminToken, post("/api/movies").contentType(MediaType.APPLICATION_JSON).content(json))));
+        String renamed = json.replace("New", "Renamed");
+        assertStatements(4, () -> ok(as(adminToken, put("/api/movies/" + movie.getId()).contentType(MediaType.APPLICATION_JSON).content(renamed))));
+        assertStatements(9, () -> mvc.perform(as(adminToken, delete("/api/movies/" + movie.getId()))).andExpect(status().isNoContent()));
+    }
+
+    @Test
+    void reviewReads() throws Exception {
+        assertStatements(1, () -> ok(get("/api/reviews/movie/" + movie.getId())));
+        assertStatements(1, () -> ok(get("/api/reviews/movie/" + movie.getId() + "?all=true")));
+        assertStatements(1, () -> ok(get("/api/reviews/movie/" + movie.getId() + "/ratings-count")));
+        assertStatements(1, () -> ok(as(userToken, get("/api/reviews/user/" + user.getId()))));
+        assertStatements(1, () -> ok(as(userToken, get("/api/reviews/user/" + user.getId() + "?all=true"))));
+        assertStatements(1, () -> ok(as(adminToken, get("/api/reviews"))));
+    }
+
+    @Test
+    void reviewWrites() throws Exception {
+        String json = "{\"movieId\":" + movie.getId() + ",\"rating\":4,\"comment\":\"Nice\"}";
+        assertStatements(4, () -> ok(as(userToken, post("/api/reviews").contentType(MediaType.APPLICATION_JSON).content(json))));
+        assertStatements(3, () -> mvc.perform(as(adminToken, delete("/api/reviews/" + review.getId()))).andExpect(status().isNoContent()));
+    }
+
+    @Test
+    void authAndAdmin() throws Exception {
+        assertStatements(2, () -> ok(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"user@example.com\",\"password\":\"secret\"}")));
+        assertStatements(2, () -> ok(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"N\",\"email\":\"new@example.com\",\"password\":\"secret\",\"role\":\"USER\"}")));
+        // queued for the background writer
+        assertStatements(0, () -> mvc.perform(post("/api/feedback").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"N\",\"email\":\"n@example.com\",\"message\":\"Hi\"}"))
+                .andExpect(status().isAccepted()));
+        // invalid feedback is refused before it reaches the queue
+        assertStatements(0, () -> mvc.perform(post("/api/feedback").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"N\",\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest()));
+        assertStatements(1, () -> ok(as(adminToken, get("/api/users"))));
+        assertStatements(0, () -> ok(as(adminToken, get("/api/admin/stats/caches"))));
+    }
+
+    @Test
+    void aTokensFirstRequestPaysForOneUserRecheck() throws Exception {
+        User freshAdmin = saveUser("fresh-admin@example.com", "ADMIN");
+        String token = jwtUtil.generateToken(freshAdmin.getId(), freshAdmin.getEmail(), freshAdmin.getRole());
+        assertStatements(1, () -> ok(as(token, get("/api/admin/stats/caches"))));
+
+        User freshAdmin2 = saveUser("fresh-admin2@example.com", "ADMIN");
+        String token2 = jwtUtil.generateToken(freshAdmin2.getId(), freshAdmin2.getEmail(), freshAdmin2.getRole());
+        assertStatements(2, () -> ok(as(token2, get("/api/reviews"))));
+
+        User freshUser = saveUser("fresh-user@example.com", "USER");
+        String userToken2 = jwtUtil.generateToken(freshUser.getId(), freshUser.getEmail(), freshUser.getRole());
+        assertStatements(2, () -> ok(as(userToken2, get("/api/reviews/user/" + user.getId()))));
+    }
+
+    @Test
+    void goingOverBudgetFailsTheRequest() throws Exception {
+        mvc.perform(as(adminToken, get("/api/test/over-budget")))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value(containsString("exceeded its budget of 1 SQL statements")));
+    }
+
+    // Deliberately issues two statements against a budget of one
+    @RestController
+    static class OverBudgetController {
+
+        private final MovieRepository movieRepo;
+
+        OverBudgetController(MovieRepository movieRepo) {
+            this.movieRepo = movieRepo;
+        }
+
+        @SqlBudget(1)
+        @GetMapping("/api/test/over-budget")
+        long overBudget() {
+            return movieRepo.count() + movieRepo.count();
+        }
+    }
+
+    private User saveUser(String email, String role) {
+        User u = new User();
+        u.setName(role + " user");
+        u.setEmail(email);
+        u.setPassword(passwordEncoder.encode("secret"));
+        u.setRole(role);
+        return userRepo.save(u);
+    }
+
+    private void ok(MockHttpServletRequestBuilder request) throws Exception {
+        mvc.perform(request).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder as(String token, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.moviereview.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.service.MovieService;
+import com.example.moviereview.service.ResponseBodyCache;
+
+// The response cache is off in the test profile; this class turns it on and checks what clients see
+@SpringBootTest(properties = "app.responses.cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MovieResponseCacheTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ResponseBodyCache responses;
+
+    @Autowired
+    private MovieRepository movieRepo;
+
+    @Autowired
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    private Movie first;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        for (int i = 0; i < 30; i++) {
+            Movie m = new Movie();
+            m.setTitle("Cached " + i);
+            m.setDescription("A description long enough that the catalog is worth compressing");
+            m = movieRepo.save(m);
+            if (first == null || m.getId() < first.getId()) {
+                first = m;
+            }
+        }
+    }
+
+    @Test
+    void catalogIsGzippedForClientsThatAcceptIt() throws Exception {
+        MvcResult plain = mvc.perform(get("/api/movies?all=true"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+        assertNull(plain.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING));
+
+        MvcResult gzipped = mvc.perform(get("/api/movies?all=true").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray())).readAllBytes();
+        assertArrayEquals(plain.getResponse().getContentAsByteArray(), unzipped);
+    }
+
+    @Test
+    void aVersionBumpRebuildsTheCachedBody() throws Exception {
+        MvcResult before = mvc.perform(get("/api/movies/" + first.getId())).andExpect(status().isOk()).andReturn();
+
+        movieService.update(first.getId(), new MovieDTO(null, "Renamed", first.getDescription(), null, null));
+
+        MvcResult after = mvc.perform(get("/api/movies/" + first.getId())).andExpect(status().isOk()).andReturn();
+        assertNotEquals(before.getResponse().getHeader(HttpHeaders.ETAG), after.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(after.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("\"Renamed\""));
+    }
+
+    @Test
+    void oversizedPageLimitsShareOneEntry() throws Exception {
+        mvc.perform(get("/api/movies?limit=100")).andExpect(status().isOk());
+        long entries = responses.size();
+        mvc.perform(get("/api/movies?limit=9999")).andExpect(status().isOk());
+        mvc.perform(get("/api/movies?limit=101&sort=TITLE")).andExpect(status().isOk());
+        assertEquals(entries, responses.size());
+    }
+}
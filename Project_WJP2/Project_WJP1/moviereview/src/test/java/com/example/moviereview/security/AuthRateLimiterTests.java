@@ -0,0 +1,74 @@
+package com.example.moviereview.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.moviereview.config.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuthRateLimiterTests {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void bucketAllowsBurstThenRefillsOverTime() {
+        // burst of 3, one token every 10 seconds
+        AuthRateLimiter.Limiter limiter = new AuthRateLimiter.Limiter(3, 6, 1000, clock::get);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("k"));
+        }
+        long wait = limiter.tryAcquire("k");
+        assertEquals(TimeUnit.SECONDS.toNanos(10), wait, TimeUnit.MILLISECONDS.toNanos(1));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, limiter.tryAcquire("k"));
+        assertTrue(limiter.tryAcquire("k") > 0);
+        // other keys have their own bucket
+        assertEquals(0, limiter.tryAcquire("other"));
+    }
+
+    @Test
+    void memoryStaysBoundedAndIdleKeysAreDropped() {
+        AuthRateLimiter.Limiter limiter = new AuthRateLimiter.Limiter(3, 6, 64 * 4, clock::get);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+        assertTrue(limiter.size() <= 64 * 4);
+
+        // 30 seconds refills every bucket, so each new key pushes out an idle one
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        int before = limiter.size();
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("fresh-" + i);
+        }
+        assertTrue(limiter.size() <= before);
+    }
+
+    @Test
+    void rejectsWhenEitherTheClientOrTheEmailIsOverItsLimit() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        AuthRateLimiter limiter = new AuthRateLimiter(meters, 5, 1, 2, 1, 1000);
+
+        limiter.acquire("login", "10.0.0.1", "a@example.com");
+        limiter.acquire("login", "10.0.0.2", "A@Example.com ");
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.acquire("login", "10.0.0.3", "a@example.com"));
+        assertTrue(e.getRetryAfterSeconds() >= 1);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("register", "10.0.0.9", "user" + i + "@example.com");
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("register", "10.0.0.9", "user5@example.com"));
+
+        assertEquals(1, meters.get("auth.rate.limit.attempts").tag("limit", "email").counter().count());
+        assertEquals(1, meters.get("auth.rate.limit.attempts").tag("limit", "ip").counter().count());
+        assertEquals(2, meters.get("auth.rate.limit.attempts").tag("endpoint", "login").tag("outcome", "admitted").counter().count());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.moviereview.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.moviereview.config.ServiceBusyException;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OffloadingPasswordEncoderTests {
+
+    @Test
+    void hashesAtAnotherCostNeedUpgrading() {
+        try (OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(6, 1, 1, new SimpleMeterRegistry())) {
+            String hash = encoder.encode("secret");
+            assertTrue(hash.startsWith("$2a$06$"));
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.upgradeEncoding(hash));
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(8).encode("secret")));
+        }
+    }
+
+    @Test
+    void saturatedPoolFailsFastInsteadOfQueueingForever() throws Exception {
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return true;
+            }
+        };
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        try (OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(slow, 10, 1, 1, meters)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(waitFor(() -> meters.get("auth.password.hashing.active").gauge().value() == 1));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            assertTrue(waitFor(() -> meters.get("auth.password.hashing.queued").gauge().value() == 1));
+
+            assertThrows(ServiceBusyException.class, () -> encoder.encode("c"));
+            assertEquals(1, meters.get("auth.password.hashing.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            // the queued hash waited for the running one, but only its own run counts as hashing time
+            Timer hashing = meters.get("auth.password.hashing").tag("operation", "encode").timer();
+            Timer waiting = meters.get("auth.password.hashing.wait").timer();
+            assertEquals(2, hashing.count());
+            assertEquals(2, waiting.count());
+            assertTrue(waiting.max(TimeUnit.NANOSECONDS) > 0);
+            assertEquals(0, meters.get("auth.password.hashing").tag("operation", "verify").timer().count());
+        }
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.moviereview.security;
+
+import static com.example.moviereview.SqlAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenUserCheckerTests {
+
+    @Autowired
+    private TokenUserChecker checker;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Checked");
+        user.setEmail("checked-" + System.nanoTime() + "@example.com");
+        user.setPassword("x");
+        user.setRole("USER");
+        user = userRepo.save(user);
+    }
+
+    @Test
+    void claimsAreCheckedOnceThenServedFromMemory() throws Exception {
+        assertStatements(1, () -> assertTrue(checker.isCurrent(user.getId(), user.getEmail(), "USER")));
+        assertStatements(0, () -> {
+            for (int i = 0; i < 100; i++) {
+                assertTrue(checker.isCurrent(user.getId(), user.getEmail(), "USER"));
+            }
+            // a token with stale claims is answered from memory too
+            assertFalse(checker.isCurrent(user.getId(), user.getEmail(), "ADMIN"));
+        });
+    }
+
+    @Test
+    void roleChangesAndRemovalsApplyWithoutWaitingForTheRecheck() {
+        assertTrue(checker.isCurrent(user.getId(), user.getEmail(), "USER"));
+
+        user.setRole("ADMIN");
+        user = userRepo.save(user);
+        assertFalse(checker.isCurrent(user.getId(), user.getEmail(), "USER"));
+        assertTrue(checker.isCurrent(user.getId(), user.getEmail(), "ADMIN"));
+
+        userRepo.delete(user);
+        assertFalse(checker.isCurrent(user.getId(), user.getEmail(), "ADMIN"));
+    }
+
+    @Test
+    void claimsAreRecheckedOnceTheIntervalPasses() throws Exception {
+        // not the application's checker, so the entity callbacks do not reach it
+        TokenUserChecker shortLived = new TokenUserChecker(userRepo, 200);
+        assertTrue(shortLived.isCurrent(user.getId(), user.getEmail(), "USER"));
+
+        user.setRole("ADMIN");
+        userRepo.save(user);
+        assertTrue(shortLived.isCurrent(user.getId(), user.getEmail(), "USER"));
+
+        for (int i = 0; i < 50 && shortLived.isCurrent(user.getId(), user.getEmail(), "USER"); i++) {
+            Thread.sleep(100);
+        }
+        assertStatements(0, () -> assertTrue(shortLived.isCurrent(user.getId(), user.getEmail(), "ADMIN")));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.moviereview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.moviereview.dto.AuthResponse;
+import com.example.moviereview.dto.LoginRequest;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceTests {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    @Autowired
+    private MovieRepository movieRepo;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void loginReencodesHashesMadeAtAnotherCost() {
+        User user = new User();
+        user.setName("Old hash");
+        user.setEmail("old@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret"));
+        user.setRole("USER");
+        userRepo.save(user);
+
+        LoginRequest request = new LoginRequest();
+        request.setEmail("old@example.com");
+        request.setPassword("secret");
+        AuthResponse response = authService.login(request);
+
+        String stored = userRepo.findByEmail("old@example.com").orElseThrow().getPassword();
+        assertEquals("old@example.com", response.getUser().getEmail());
+        assertTrue(stored.startsWith("$2a$10$"), stored);
+        assertTrue(new BCryptPasswordEncoder().matches("secret", stored));
+    }
+}
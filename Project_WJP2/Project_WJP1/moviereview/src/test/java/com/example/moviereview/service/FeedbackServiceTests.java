@@ -0,0 +1,114 @@
+package com.example.moviereview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.moviereview.config.ServiceBusyException;
+import com.example.moviereview.model.Feedback;
+import com.example.moviereview.repository.FeedbackJdbcRepository;
+import com.example.moviereview.repository.FeedbackRepository;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedbackServiceTests {
+
+    @Autowired
+    private FeedbackRepository feedbackRepo;
+
+    @Autowired
+    private FeedbackJdbcRepository feedbackJdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        feedbackRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void queuedFeedbackIsWrittenInBatches() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        FeedbackService service = queue(meters, 100, 0);
+        for (int i = 0; i < 25; i++) {
+            service.submit(new Feedback("N" + i, "n" + i + "@example.com", "Hi"));
+        }
+        assertEquals(25, meters.get("feedback.queue.depth").gauge().value());
+
+        assertEquals(25, service.flush());
+        assertEquals(25, feedbackRepo.count());
+        assertEquals(3, meters.get("feedback.flush").timer().count());
+        assertEquals(0, meters.get("feedback.queue.depth").gauge().value());
+    }
+
+    @Test
+    void fullQueueTurnsSubmissionsAway() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        FeedbackService service = queue(meters, 2, 0);
+        service.submit(new Feedback("A", "a@example.com", "Hi"));
+        service.submit(new Feedback("B", "b@example.com", "Hi"));
+
+        ServiceBusyException e = assertThrows(ServiceBusyException.class,
+                () -> service.submit(new Feedback("C", "c@example.com", "Hi")));
+        assertEquals(1, e.getRetryAfterSeconds());
+        assertEquals(1, meters.get("feedback.rejected").counter().count());
+        assertEquals(2, service.flush());
+    }
+
+    @Test
+    void rowsTheDatabaseRejectsAreDroppedWithoutBlockingTheirBatch() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        FeedbackService service = queue(meters, 100, 0);
+        for (int i = 0; i < 9; i++) {
+            service.submit(new Feedback("N" + i, "n" + i + "@example.com", "Hi"));
+            if (i == 4) {
+                // over the 2000-character column: the whole batch insert fails
+                service.submit(new Feedback("Long", "long@example.com", "x".repeat(2001)));
+            }
+        }
+        service.submit(new Feedback("Next", "next@example.com", "Hi"));
+
+        assertEquals(10, service.flush());
+        assertEquals(10, feedbackRepo.count());
+        assertEquals(1, meters.get("feedback.dropped").counter().count());
+        assertEquals(0, service.flush());
+    }
+
+    @Test
+    void asyncServiceFlushesAsSoonAsABatchIsFull() throws InterruptedException {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        // the interval flush is an hour away, so only the batch-full trigger can write these
+        FeedbackService service = new FeedbackService(feedbackRepo, feedbackJdbc, transactionManager, meters,
+                true, 100, 10, 3_600_000, 0);
+        try {
+            for (int i = 0; i < 10; i++) {
+                service.submit(new Feedback("N" + i, "n" + i + "@example.com", "Hi"));
+            }
+            // the rows are visible at commit, a moment before the flush timer records
+            Timer flushes = meters.get("feedback.flush").timer();
+            for (int i = 0; i < 50 && (feedbackRepo.count() < 10 || flushes.count() == 0); i++) {
+                Thread.sleep(100);
+            }
+            assertEquals(10, feedbackRepo.count());
+            assertEquals(1, meters.get("feedback.flush").timer().count());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    // no scheduled flushes, so the test decides when rows are written
+    private FeedbackService queue(SimpleMeterRegistry meters, int capacity, long enqueueTimeoutMs) {
+        return new FeedbackService(feedbackRepo, feedbackJdbc, transactionManager, meters,
+                false, capacity, 10, 60_000, enqueueTimeoutMs);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.moviereview.service;
+
+import static com.example.moviereview.SqlAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.PageDTO;
+import com.example.moviereview.dto.ReviewDTO;
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+
+// The read caches are off in the test profile; this class turns them on and checks hits and evictions
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@ActiveProfiles("test")
+class MovieCacheTests {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private MovieRatingService ratingService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MovieRepository movieRepo;
+
+    @Autowired
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    private Movie a;
+    private Movie c;
+    private User reviewer;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+
+        a = saveMovie("A");
+        saveMovie("B");
+        c = saveMovie("C");
+        saveMovie("D");
+        ratingService.rebuildAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        reviewer = new User();
+        reviewer.setName("Reviewer");
+        reviewer.setEmail("reviewer@example.com");
+        reviewer.setPassword("x");
+        reviewer.setRole("USER");
+        reviewer = userRepo.save(reviewer);
+    }
+
+    @Test
+    void repeatedReadsAreServedFromTheCacheAsImmutableValues() throws Exception {
+        PageDTO<MovieDTO> page = movieService.getPage("title", null, 2);
+        List<MovieDTO> all = movieService.getAll();
+        MovieDTO movie = movieService.getById(a.getId());
+
+        assertStatements(0, () -> {
+            assertSame(page, movieService.getPage("title", null, 2));
+            assertSame(all, movieService.getAll());
+            assertSame(movie, movieService.getById(a.getId()));
+        });
+        // every caller gets the same instances, so none of them may change what the others see
+        assertThrows(UnsupportedOperationException.class, () -> page.getItems().clear());
+        assertThrows(UnsupportedOperationException.class, () -> all.clear());
+    }
+
+    @Test
+    void aReviewOnlyEvictsTheEntriesThatShowItsMovie() throws Exception {
+        PageDTO<MovieDTO> first = movieService.getPage("title", null, 2);
+        PageDTO<MovieDTO> second = movieService.getPage("title", first.getNextCursor(), 2);
+        PageDTO<MovieDTO> byRating = movieService.getPage("rating", null, 2);
+        movieService.getAll();
+        movieService.getById(c.getId());
+        assertEquals("C", second.getItems().get(0).getTitle());
+
+        ReviewDTO review = new ReviewDTO();
+        review.setMovieId(c.getId());
+        review.setComment("Great");
+        review.setRating(5.0);
+        reviewService.create(review, new UsernamePasswordAuthenticationToken(reviewer.getEmail(), null));
+
+        // the page without movie C stays warm
+        assertStatements(0, () -> assertSame(first, movieService.getPage("title", null, 2)));
+
+        PageDTO<MovieDTO> secondAgain = movieService.getPage("title", first.getNextCursor(), 2);
+        assertNotSame(second, secondAgain);
+        assertEquals(5.0, secondAgain.getItems().get(0).getAverageRating());
+        assertNotSame(byRating, movieService.getPage("rating", null, 2));
+        assertEquals("C", movieService.getPage("rating", null, 2).getItems().get(0).getTitle());
+        assertEquals(5.0, movieService.getAll().get(2).getAverageRating());
+        assertEquals(5.0, movieService.getById(c.getId()).getAverageRating());
+    }
+
+    @Test
+    void editingAMovieRefreshesTheWholeCatalog() {
+        PageDTO<MovieDTO> first = movieService.getPage("title", null, 2);
+        PageDTO<MovieDTO> second = movieService.getPage("title", first.getNextCursor(), 2);
+        movieService.getById(a.getId());
+
+        movieService.update(a.getId(), new MovieDTO(null, "Z", null, null, null));
+
+        // renaming A moves it to the end, which shifts every title page
+        assertEquals("B", movieService.getPage("title", null, 2).getItems().get(0).getTitle());
+        assertNotSame(second, movieService.getPage("title", first.getNextCursor(), 2));
+        assertEquals("Z", movieService.getById(a.getId()).getTitle());
+    }
+
+    private Movie saveMovie(String title) {
+        Movie m = new Movie();
+        m.setTitle(title);
+        return movieRepo.save(m);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.moviereview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.moviereview.service.MovieEventBuffer.Frame;
+
+class MovieEventBufferTests {
+
+    @Test
+    void reviewsComeOutInOrderFollowedByTheLatestSummary() {
+        MovieEventBuffer buffer = new MovieEventBuffer(4);
+        buffer.offerSummary(new Frame("rating", "old"));
+        buffer.offer(new Frame("review", "1"));
+        buffer.offer(MovieEventBuffer.HEARTBEAT);
+        buffer.offer(MovieEventBuffer.HEARTBEAT);
+        buffer.offer(new Frame("review", "2"));
+        buffer.offerSummary(new Frame("rating", "new"));
+
+        assertEquals("1", buffer.next().data());
+        assertEquals("2", buffer.next().data());
+        assertEquals("new", buffer.next().data());
+        assertSame(MovieEventBuffer.HEARTBEAT, buffer.next());
+        assertNull(buffer.next());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void overflowDropsQueuedReviewsForOneResync() {
+        MovieEventBuffer buffer = new MovieEventBuffer(3);
+        int dropped = 0;
+        for (int i = 0; i < 10; i++) {
+            dropped += buffer.offer(new Frame("review", String.valueOf(i)));
+        }
+        buffer.offerSummary(new Frame("rating", "latest"));
+
+        // the client refetches everything, so none of the ten reviews is worth sending
+        assertEquals(10, dropped);
+        assertSame(MovieEventBuffer.RESYNC, buffer.next());
+        assertEquals("latest", buffer.next().data());
+        assertNull(buffer.next());
+
+        // once the resync has gone out, reviews queue normally again
+        assertEquals(0, buffer.offer(new Frame("review", "10")));
+        assertEquals("10", buffer.next().data());
+    }
+}
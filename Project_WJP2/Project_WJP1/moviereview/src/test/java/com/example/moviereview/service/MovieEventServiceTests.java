@@ -0,0 +1,156 @@
+package com.example.moviereview.service;
+
+import static com.example.moviereview.SqlAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.moviereview.dto.ReviewDTO;
+import com.example.moviereview.event.MovieChangedEvent;
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Streams are written from sender threads while MockMvc may still be reading the response, so the
+// result printer (which walks the headers) is off here; the endpoint's SQL budget is pinned here too
+@SpringBootTest
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@ActiveProfiles("test")
+class MovieEventServiceTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MovieEventService movieEvents;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private MovieRepository movieRepo;
+
+    @Autowired
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    private User reviewer;
+    private Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+
+        reviewer = new User();
+        reviewer.setName("Live");
+        reviewer.setEmail("live@example.com");
+        reviewer.setPassword("x");
+        reviewer.setRole("USER");
+        reviewer = userRepo.save(reviewer);
+
+        movie = new Movie();
+        movie.setTitle("Streamed");
+        movie = movieRepo.save(movie);
+    }
+
+    @Test
+    void subscribersGetCommittedReviewsAndTheNewSummary() throws Exception {
+        // the opening rating summary is queried off the request thread
+        MvcResult[] opened = new MvcResult[1];
+        assertStatements(1, () -> opened[0] = subscribe());
+        MvcResult stream = opened[0];
+        awaitContent(stream, "event:rating");
+
+        ReviewDTO dto = new ReviewDTO();
+        dto.setMovieId(movie.getId());
+        dto.setComment("Seen it live");
+        dto.setRating(4.0);
+        ReviewDTO created = reviewService.create(dto, new UsernamePasswordAuthenticationToken(reviewer.getEmail(), null));
+        awaitContent(stream, "\"type\":\"ADDED\"");
+        awaitContent(stream, "\"reviewCount\":1");
+        assertTrue(stream.getResponse().getContentAsString().contains("Seen it live"));
+
+        reviewService.delete(created.getId());
+        awaitContent(stream, "\"type\":\"REMOVED\"");
+    }
+
+    @Test
+    void deletingTheMovieEndsItsStreams() throws Exception {
+        int before = movieEvents.subscriberCount();
+        MvcResult stream = subscribe();
+        assertEquals(before + 1, movieEvents.subscriberCount());
+
+        movieEvents.onMovieChanged(new MovieChangedEvent(movie.getId(), MovieChangedEvent.Type.DELETED));
+        awaitContent(stream, "event:deleted");
+        for (int i = 0; i < 50 && movieEvents.subscriberCount() > before; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(before, movieEvents.subscriberCount());
+    }
+
+    @Test
+    void streamCapLeavesConnectionsForRegularRequests() {
+        MovieEventService service = new MovieEventService(movieRepo, ratingRepo, reviewService, new ObjectMapper(),
+                new SimpleMeterRegistry(), 64, 50_000, 1000, 20, 8192);
+        try {
+            assertEquals(6144, service.maxSubscribers());
+        } finally {
+            service.shutdown();
+        }
+        assertTrue(movieEvents.maxSubscribers() < 65536);
+    }
+
+    @Test
+    void unknownMovieIsRejected() throws Exception {
+        mvc.perform(get("/api/movies/" + (movie.getId() + 1000) + "/events")).andExpect(status().isBadRequest());
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mvc.perform(get("/api/movies/" + movie.getId() + "/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+        for (int i = 0; i < 50 && !stream.getResponse().getContentAsString().contains(expected); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(stream.getResponse().getContentAsString().contains(expected),
+                () -> "expected " + expected + " in " + safeContent(stream));
+    }
+
+    private static String safeContent(MvcResult stream) {
+        try {
+            return stream.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return e.toString();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.moviereview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.moviereview.dto.LeaderboardEntryDTO;
+
+class MovieLeaderboardTests {
+
+    private static final long NOW = 500_000;
+
+    private final MovieLeaderboard board = new MovieLeaderboard(10, 24);
+
+    @Test
+    void fewPerfectScoresRankBelowManyGoodOnes() {
+        board.load(1, "One perfect review", null, 1, 5.0, List.of(), NOW);
+        board.load(2, "Many good reviews", null, 200, 200 * 4.5, List.of(), NOW);
+        board.load(3, "Many poor reviews", null, 200, 200 * 2.0, List.of(), NOW);
+        board.load(4, "Unrated", null, 0, 0, List.of(), NOW);
+        board.load(5, "Also unrated", null, 0, 0, List.of(), NOW);
+        board.tick(NOW);
+
+        // unrated movies trail even the poorly rated ones
+        assertEquals(List.of(2L, 1L, 3L, 4L, 5L), ids(board.top(10)));
+        assertEquals(null, board.top(10).get(3).getAverageRating());
+        assertEquals(5.0, board.top(10).get(1).getAverageRating(), 1e-9);
+        assertEquals(List.of(2L), ids(board.top(1)));
+    }
+
+    @Test
+    void newMoviesAreListedAsUnratedUntilReviewed() {
+        board.load(1, "Rated", null, 3, 12, List.of(), NOW);
+        board.tick(NOW);
+        board.putMovie(2, "Brand new", "poster.jpg");
+        assertEquals(List.of(1L, 2L), ids(board.top(10)));
+        assertEquals("Brand new", board.top(10).get(1).getTitle());
+
+        board.putMovie(2, "Renamed", "poster.jpg");
+        board.reviewAdded(2, 5.0, NOW, NOW);
+        assertEquals(List.of(2L, 1L), ids(board.top(10)));
+        assertEquals("Renamed", board.top(10).get(0).getTitle());
+    }
+
+    @Test
+    void reviewWritesReRankIncrementally() {
+        board.load(1, "A", null, 10, 40, List.of(), NOW);
+        board.load(2, "B", null, 10, 35, List.of(), NOW);
+        board.tick(NOW);
+        assertEquals(List.of(1L, 2L), ids(board.top(10)));
+
+        for (int i = 0; i < 20; i++) {
+            board.reviewAdded(2, 5.0, NOW, NOW);
+        }
+        assertEquals(List.of(2L, 1L), ids(board.top(10)));
+        assertEquals(30, board.top(10).get(0).getReviewCount());
+
+        board.removeMovie(2);
+        assertEquals(List.of(1L), ids(board.top(10)));
+        assertEquals(false, board.reviewAdded(2, 5.0, NOW, NOW));
+    }
+
+    @Test
+    void trendingCountsOnlyReviewsInsideTheWindow() {
+        board.load(1, "Steady", null, 50, 150, Collections.nCopies(6, NOW - 20), NOW);
+        board.load(2, "Fresh", null, 4, 16, Collections.nCopies(4, NOW - 1), NOW);
+        board.load(3, "Old", null, 90, 300, Collections.nCopies(9, NOW - 30), NOW);
+        board.tick(NOW);
+        assertEquals(List.of(1L, 2L), ids(board.trending(10)));
+        assertEquals(6.0, board.trending(10).get(0).getScore(), 1e-9);
+
+        // five hours later movie 1's reviews have left the 24 hour window
+        board.tick(NOW + 5);
+        assertEquals(List.of(2L), ids(board.trending(10)));
+
+        board.reviewRemoved(2, 4.0, NOW - 1, NOW + 5);
+        board.reviewRemoved(2, 4.0, NOW - 1, NOW + 5);
+        board.reviewAdded(3, 1.0, NOW + 5, NOW + 5);
+        assertEquals(List.of(2L, 3L), ids(board.trending(10)));
+        assertTrue(board.trending(10).stream().allMatch(e -> e.getReviewCount() > 0));
+    }
+
+    private static List<Long> ids(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getId).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.moviereview.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.SearchHitDTO;
+
+// Typeahead latency at 100k movies with synthetic titles and descriptions; the target is < 1 ms per query
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "star", "night", "love", "war", "city", "dark", "lost", "river", "king", "dream", "storm", "ghost",
+            "summer", "winter", "blood", "fire", "ocean", "shadow", "secret", "journey", "empire", "silent",
+            "golden", "broken", "wild", "last", "first", "return", "rise", "fall", "heart", "iron", "glass"};
+
+    @Param({"s", "sta", "star wi", "dark city ret"})
+    public String query;
+
+    private MovieSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<MovieDTO> movies = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            movies.add(new MovieDTO(id, words(random, 3) + " " + id, words(random, 40), null, null));
+        }
+        index = MovieSearchIndex.build(movies);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // a long tail of rarer made-up words next to the common ones
+            String word = WORDS[random.nextInt(WORDS.length)];
+            out.append(random.nextInt(4) == 0 ? word + random.nextInt(500) : word).append(' ');
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public List<SearchHitDTO> search() {
+        return index.search(query, 10);
+    }
+}
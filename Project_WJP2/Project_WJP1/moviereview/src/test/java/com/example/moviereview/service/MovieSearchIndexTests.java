@@ -0,0 +1,103 @@
+package com.example.moviereview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.SearchHitDTO;
+
+class MovieSearchIndexTests {
+
+    private final MovieSearchIndex index = MovieSearchIndex.build(List.of(
+            new MovieDTO(1L, "Star Wars", "A space opera about rebels", null, null),
+            new MovieDTO(2L, "Stardust", "A fairy tale", null, null),
+            new MovieDTO(3L, "The Godfather", "A crime family saga, with stars of the era", null, null),
+            new MovieDTO(4L, "Amélie", "A whimsical Parisian story", null, null)));
+
+    @Test
+    void lastWordMatchesAsPrefix() {
+        assertEquals(List.of(1L, 2L, 3L), ids("sta"));
+        assertEquals(List.of(1L), ids("star w"));
+    }
+
+    @Test
+    void aTrailingStopWordStillMatchesAsPrefix() {
+        index.put(5L, "Thelma", "A road movie", null);
+        index.put(6L, "It", "A horror story", null);
+
+        assertEquals(List.of(5L), ids("the"));
+        assertEquals(List.of(6L), ids("it"));
+        // as a whole word it is still skipped
+        assertEquals(List.of(3L), ids("the godfather"));
+        assertTrue(ids("the ").isEmpty());
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        assertEquals(1L, ids("star ").get(0));
+        assertEquals(List.of(4L), ids("amelie"));
+    }
+
+    @Test
+    void fallsBackToMoviesMatchingMostWords() {
+        assertEquals(List.of(3L, 1L), ids("space crime family "));
+        assertEquals(List.of(1L, 3L), ids("space opera crime "));
+    }
+
+    @Test
+    void updatesAndRemovalsApplyIncrementally() {
+        index.put(2L, "Moon", "Lunar", null);
+        index.remove(1L);
+        index.put(5L, "Starship Troopers", "Bugs", null);
+
+        assertEquals(List.of(5L, 3L), ids("star"));
+        assertEquals(List.of(2L), ids("moon"));
+        assertTrue(ids("wars").isEmpty());
+    }
+
+    @Test
+    void broadQueriesRankAcrossManyMatches() {
+        List<MovieDTO> movies = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            // every movie matches "saga"; the score buffer has to grow well past its initial size
+            movies.add(new MovieDTO(id, id == 2500 ? "Saga" : "Movie " + id, "A saga", null, null));
+        }
+        MovieSearchIndex big = MovieSearchIndex.build(movies);
+
+        List<SearchHitDTO> hits = big.search("saga", 5);
+        assertEquals(5, hits.size());
+        assertEquals(2500L, hits.get(0).getId());
+        // pooled buffers come back empty: 2500 has no "movie" and must not keep its earlier score
+        assertFalse(big.search("saga movie", 5).stream().anyMatch(h -> h.getId() == 2500L));
+    }
+
+    @Test
+    void deletionsAreReclaimedByCompaction() {
+        for (long id = 100; id < 2200; id++) {
+            index.put(id, "Temp " + id, null, null);
+            index.remove(id);
+        }
+        // edits keep their slot and never count as dead
+        for (int i = 0; i < 10; i++) {
+            index.put(1L, "Star Wars", "A space opera about rebels", null);
+        }
+        assertTrue(index.needsCompaction());
+
+        MovieSearchIndex compacted = index.compacted();
+        assertFalse(compacted.needsCompaction());
+        assertEquals(4, compacted.size());
+        assertEquals(List.of(1L, 2L, 3L), compacted.search("sta", 10).stream().map(SearchHitDTO::getId).toList());
+        compacted.put(6L, "Stalker", null, null);
+        assertEquals(List.of(6L), compacted.search("stalk", 10).stream().map(SearchHitDTO::getId).toList());
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10).stream().map(SearchHitDTO::getId).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.moviereview.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.moviereview.MoviereviewApplication;
+import com.example.moviereview.bench.DatasetSeeder;
+import com.example.moviereview.dto.MovieDTO;
+
+// Movie reads through the public service API on the real wiring and an in-memory database:
+// cache=none is the entity load plus the movie_ratings lookup and mapping, caffeine is a cache hit
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MovieServiceBenchmark {
+
+    private static final int MOVIES = 1_000;
+
+    @Param({"none", "caffeine"})
+    public String cache;
+
+    private ConfigurableApplicationContext ctx;
+    private MovieService movieService;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        ctx = new SpringApplicationBuilder(MoviereviewApplication.class)
+                .profiles("test")
+                // arguments, unlike builder properties, take precedence over application-test.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.cache.type=" + cache,
+                        "--spring.datasource.url=jdbc:h2:mem:movie-bench-" + cache + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "--app.sql.budget.fail=false",
+                        "--logging.level.root=WARN");
+        DatasetSeeder.seed(ctx, MOVIES, 10 * MOVIES, 100);
+        movieService = ctx.getBean(MovieService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public MovieDTO getById() {
+        next = next % MOVIES + 1;
+        return movieService.getById(next);
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.moviereview.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.example.moviereview.dto.DeletionJobDTO;
+import com.example.moviereview.dto.MovieDTO;
+import com.example.moviereview.dto.PageDTO;
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.model.Review;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MovieServiceTests {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRatingService ratingService;
+
+    @Autowired
+    private MovieDeletionService deletionService;
+
+    @Autowired
+    private MovieLeaderboardService leaderboard;
+
+    @MockitoSpyBean
+    private MovieRepository movieRepo;
+
+    @MockitoSpyBean
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private User reviewer;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+
+        reviewer = new User();
+        reviewer.setName("Reviewer");
+        reviewer.setEmail("reviewer@example.com");
+        reviewer.setPassword("x");
+        reviewer.setRole("USER");
+        reviewer = userRepo.save(reviewer);
+    }
+
+    @Test
+    void getAllUsesSameNumberOfStatementsAsCatalogGrows() {
+        seedMovies(5, 3);
+        long small = countStatements(() -> assertEquals(5, movieService.getAll().size()));
+
+        seedMovies(100, 3);
+        long large = countStatements(() -> assertEquals(105, movieService.getAll().size()));
+
+        assertEquals(1, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void getAllReturnsAverageRatings() {
+        Movie rated = saveMovie("Rated");
+        saveReview(rated, 4.0);
+        saveReview(rated, 2.0);
+        saveMovie("Unrated");
+        ratingService.rebuildAll();
+
+        List<MovieDTO> catalog = movieService.getAll();
+        MovieDTO ratedDto = catalog.stream().filter(m -> m.getTitle().equals("Rated")).findFirst().orElseThrow();
+        MovieDTO unratedDto = catalog.stream().filter(m -> m.getTitle().equals("Unrated")).findFirst().orElseThrow();
+
+        assertEquals(3.0, ratedDto.getAverageRating());
+        assertEquals(null, unratedDto.getAverageRating());
+    }
+
+    @Test
+    void ratingPagesWalkRatedMoviesBestFirstThenUnrated() {
+        Movie good = saveMovie("Good");
+        saveReview(good, 4.0);
+        Movie best = saveMovie("Best");
+        saveReview(best, 5.0);
+        Movie alsoGood = saveMovie("Also Good");
+        saveReview(alsoGood, 4.0);
+        Movie unrated = saveMovie("Unrated");
+        ratingService.rebuildAll();
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDTO<MovieDTO> page = movieService.getPage("rating", cursor, 2);
+            page.getItems().forEach(m -> ids.add(m.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // ties on rating go to the higher id first
+        assertEquals(List.of(best.getId(), alsoGood.getId(), good.getId(), unrated.getId()), ids);
+    }
+
+    @Test
+    void titlePagesVisitEveryMovieOnce() {
+        seedMovies(7, 0);
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDTO<MovieDTO> page = movieService.getPage("title", cursor, 3);
+            page.getItems().forEach(m -> titles.add(m.getTitle()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(movieService.getAll().stream().map(MovieDTO::getTitle).sorted().toList(), titles);
+    }
+
+    @Test
+    void bigMovieIsDeletedInChunksInTheBackground() throws InterruptedException {
+        Movie doomed = saveMovie("Doomed");
+        // ties on createdAt across chunk boundaries are broken by id
+        LocalDateTime sameTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 250; i++) {
+            saveReview(doomed, 1.0 + i % 5, i % 2 == 0 ? sameTime : sameTime.plusMinutes(i));
+        }
+        ratingService.rebuildAll();
+
+        DeletionJobDTO job = deletionService.delete(doomed.getId()).orElseThrow();
+        assertEquals(250, job.getTotalReviews());
+        for (int i = 0; i < 100 && "RUNNING".equals(job.getStatus()); i++) {
+            Thread.sleep(100);
+            job = deletionService.getJob(job.getId());
+        }
+
+        assertEquals("DONE", job.getStatus());
+        assertEquals(250, job.getDeletedReviews());
+        assertFalse(movieRepo.existsById(doomed.getId()));
+        assertFalse(ratingRepo.existsById(doomed.getId()));
+        assertEquals(0, reviewRepo.count());
+    }
+
+    @Test
+    void smallMovieIsDeletedRightAway() {
+        Movie small = saveMovie("Small");
+        saveReview(small, 3.0);
+        ratingService.rebuildAll();
+
+        assertTrue(deletionService.delete(small.getId()).isEmpty());
+        assertFalse(movieRepo.existsById(small.getId()));
+        assertEquals(0, reviewRepo.count());
+    }
+
+    @Test
+    void reviewsAddedAfterTheCountAreStillDeletedInChunks() {
+        Movie grown = saveMovie("Grown");
+        for (int i = 0; i < 250; i++) {
+            saveReview(grown, 4.0);
+        }
+        ratingService.rebuildAll();
+        // the count saw a small movie, the reviews arrived before the delete ran
+        doReturn(1L).when(reviewRepo).countByMovieId(grown.getId());
+
+        assertTrue(deletionService.delete(grown.getId()).isEmpty());
+        assertFalse(movieRepo.existsById(grown.getId()));
+        assertFalse(ratingRepo.existsById(grown.getId()));
+        assertEquals(0, reviewRepo.count());
+        verify(reviewRepo, times(3)).deleteByIds(anyList());
+    }
+
+    @Test
+    void titlesDifferingOnlyInCaseSpacingOrPunctuationAreDuplicates() {
+        movieService.create(movie("The Matrix"));
+
+        MovieDTO again = movie("  the  MATRIX! ");
+        RuntimeException e = assertThrows(RuntimeException.class, () -> movieService.create(again));
+        assertEquals("A movie with this title already exists", e.getMessage());
+
+        Long otherId = movieService.create(movie("Other")).getId();
+        assertThrows(RuntimeException.class, () -> movieService.update(otherId, again));
+    }
+
+    @Test
+    void createdAndRenamedMoviesReachTheLeaderboardFromTheEvent() {
+        Long id = movieService.create(movie("Leader")).getId();
+        assertEquals("Leader", leaderboardTitle(id));
+
+        movieService.update(id, movie("Renamed leader"));
+        assertEquals("Renamed leader", leaderboardTitle(id));
+    }
+
+    private String leaderboardTitle(Long id) {
+        return leaderboard.top(MovieLeaderboardService.MAX_LIMIT).stream()
+                .filter(e -> e.getId().equals(id))
+                .findFirst().orElseThrow().getTitle();
+    }
+
+    @Test
+    void aCreateThatLosesTheRaceIsReportedAsADuplicate() {
+        movieService.create(movie("Race"));
+        // the concurrent create committed between this one's check and its insert
+        doReturn(false).when(movieRepo).existsByNormalizedTitle("race");
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> movieService.create(movie("RACE")));
+        assertEquals("A movie with this title already exists", e.getMessage());
+        assertEquals(1, movieRepo.count());
+    }
+
+    @Test
+    void onlyTheTitleIndexCountsAsADuplicate() {
+        saveMovie("Taken");
+        Movie copy = new Movie();
+        copy.setTitle("taken");
+        DataIntegrityViolationException duplicate = assertThrows(DataIntegrityViolationException.class,
+                () -> movieRepo.saveAndFlush(copy));
+        assertTrue(MovieService.isDuplicateTitle(duplicate));
+
+        Movie untitled = new Movie();
+        DataIntegrityViolationException missingTitle = assertThrows(DataIntegrityViolationException.class,
+                () -> movieRepo.saveAndFlush(untitled));
+        assertFalse(MovieService.isDuplicateTitle(missingTitle));
+    }
+
+    @Test
+    void titlesWithoutLettersOrDigitsAreRejected() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> movieService.create(movie("?!")));
+        assertEquals("Title must contain at least one letter or digit", e.getMessage());
+        Long id = movieService.create(movie("Fine")).getId();
+        assertThrows(RuntimeException.class, () -> movieService.update(id, movie(" - ")));
+        assertEquals(1, movieRepo.count());
+    }
+
+    private static MovieDTO movie(String title) {
+        return new MovieDTO(null, title, null, null, null);
+    }
+
+    private void seedMovies(int count, int reviewsEach) {
+        int offset = (int) movieRepo.count();
+        for (int i = 0; i < count; i++) {
+            Movie movie = saveMovie("Movie " + (offset + i));
+            for (int j = 0; j < reviewsEach; j++) {
+                saveReview(movie, 1.0 + j);
+            }
+        }
+        ratingService.rebuildAll();
+    }
+
+    private Movie saveMovie(String title) {
+        Movie movie = new Movie();
+        movie.setTitle(title);
+        movie.setDescription("Description of " + title);
+        return movieRepo.save(movie);
+    }
+
+    private void saveReview(Movie movie, double rating) {
+        saveReview(movie, rating, LocalDateTime.now());
+    }
+
+    private void saveReview(Movie movie, double rating, LocalDateTime createdAt) {
+        Review review = new Review();
+        review.setCreatedAt(createdAt);
+        review.setMovie(movie);
+        review.setUser(reviewer);
+        review.setUserName(reviewer.getName());
+        review.setComment("Comment");
+        review.setRating(rating);
+        reviewRepo.save(review);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        action.run();
+        return stats.getPrepareStatementCount();
+    }
+}
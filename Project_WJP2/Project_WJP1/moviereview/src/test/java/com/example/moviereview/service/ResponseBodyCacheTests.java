@@ -0,0 +1,73 @@
+package com.example.moviereview.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.moviereview.dto.MovieDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ResponseBodyCacheTests {
+
+    private final ResponseBodyCache cache = new ResponseBodyCache(new ObjectMapper(), true, 1_000_000);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @Test
+    void bodiesAreSerializedOncePerVersion() throws IOException {
+        ResponseBodyCache.Payload first = cache.get("catalog", "\"v1\"", this::catalog);
+        assertSame(first, cache.get("catalog", "\"v1\"", this::catalog));
+        assertEquals(1, builds.get());
+
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(first.gzip())).readAllBytes();
+        assertArrayEquals(first.json(), unzipped);
+        assertTrue(first.gzip().length < first.json().length);
+
+        cache.get("catalog", "\"v2\"", this::catalog);
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void sizeIsBoundedByBytesNotEntries() {
+        ResponseBodyCache small = new ResponseBodyCache(new ObjectMapper(), true, 64 * 1024);
+        for (int i = 0; i < 20; i++) {
+            small.get("catalog:" + i, "\"v1\"", this::catalog);
+        }
+        assertTrue(small.weightInBytes() <= 64 * 1024);
+        assertTrue(small.size() < 20);
+    }
+
+    @Test
+    void smallBodiesAreNotGzipped() {
+        ResponseBodyCache.Payload payload = cache.get("movie:1", "\"m1\"",
+                () -> new MovieDTO(1L, "Tiny", null, null, null));
+        assertNull(payload.gzip());
+    }
+
+    @Test
+    void gzipIsUsedOnlyWhenTheClientAcceptsIt() {
+        assertTrue(ResponseBodyCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ResponseBodyCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertFalse(ResponseBodyCache.acceptsGzip("gzip;q=0"));
+        assertFalse(ResponseBodyCache.acceptsGzip("identity"));
+        assertFalse(ResponseBodyCache.acceptsGzip(null));
+    }
+
+    private List<MovieDTO> catalog() {
+        builds.incrementAndGet();
+        return LongStream.range(0, 200)
+                .mapToObj(i -> new MovieDTO(i, "Movie " + i, "A description of movie " + i, null, 3.5))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.moviereview.service;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.moviereview.MoviereviewApplication;
+import com.example.moviereview.bench.DatasetSeeder;
+import com.example.moviereview.dto.PageDTO;
+import com.example.moviereview.dto.ReviewDTO;
+
+// Review reads through the public service API on the real wiring and an in-memory database.
+// The export maps every review entity to a DTO, so its per-op time is dominated by that mapping.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReviewServiceBenchmark {
+
+    private static final int REVIEWS = 1_000;
+
+    private ConfigurableApplicationContext ctx;
+    private ReviewService reviewService;
+
+    @Setup
+    public void setUp() {
+        ctx = new SpringApplicationBuilder(MoviereviewApplication.class)
+                .profiles("test")
+                // arguments, unlike builder properties, take precedence over application-test.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:review-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "--app.sql.budget.fail=false",
+                        "--logging.level.root=WARN");
+        DatasetSeeder.seed(ctx, 10, REVIEWS, 100);
+        reviewService = ctx.getBean(ReviewService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public long exportAll() {
+        return reviewService.exportAll(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public PageDTO<ReviewDTO> moviePage() {
+        // movie 1 gets the most reviews from the seeder's skew
+        return reviewService.getMoviePage(1L, null, 20);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.moviereview.service;
+
+import static com.example.moviereview.SqlAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.moviereview.dto.PageDTO;
+import com.example.moviereview.dto.ReviewDTO;
+import com.example.moviereview.dto.ReviewImportResult;
+import com.example.moviereview.model.Movie;
+import com.example.moviereview.model.MovieRating;
+import com.example.moviereview.model.Review;
+import com.example.moviereview.model.User;
+import com.example.moviereview.repository.MovieRatingRepository;
+import com.example.moviereview.repository.MovieRepository;
+import com.example.moviereview.repository.ReviewRepository;
+import com.example.moviereview.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReviewServiceTests {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private MovieRepository movieRepo;
+
+    @Autowired
+    private ReviewRepository reviewRepo;
+
+    @Autowired
+    private MovieRatingRepository ratingRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private User reviewer;
+    private Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepo.deleteAllInBatch();
+        ratingRepo.deleteAllInBatch();
+        movieRepo.deleteAllInBatch();
+        userRepo.deleteAllInBatch();
+
+        reviewer = new User();
+        reviewer.setName("Reviewer");
+        reviewer.setEmail("reviewer@example.com");
+        reviewer.setPassword("x");
+        reviewer.setRole("USER");
+        reviewer = userRepo.save(reviewer);
+
+        movie = new Movie();
+        movie.setTitle("Feed");
+        movie = movieRepo.save(movie);
+    }
+
+    @Test
+    void movieFeedPagesNewestFirstAcrossTimestampTies() {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // pairs of reviews share a timestamp so the id tiebreak is exercised
+            expected.add(0, saveReview(base.plusMinutes(i / 2)).getId());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDTO<ReviewDTO> page = reviewService.getMoviePage(movie.getId(), cursor, 3);
+            page.getItems().forEach(r -> ids.add(r.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void undatedReviewsAreBackfilledAndPageAfterTheDatedOnes() throws Exception {
+        Review dated = saveReview(LocalDateTime.of(2025, 1, 1, 12, 0));
+        Review undated = saveReview(LocalDateTime.of(2025, 1, 1, 12, 0));
+        Review alsoUndated = saveReview(LocalDateTime.of(2025, 1, 1, 12, 0));
+        // recreate rows from before created_at was NOT NULL
+        jdbc.execute("ALTER TABLE reviews ALTER COLUMN created_at SET NULL");
+        try {
+            jdbc.update("UPDATE reviews SET created_at = NULL WHERE id IN (?, ?)", undated.getId(), alsoUndated.getId());
+            reviewService.backfillCreatedAt();
+        } finally {
+            jdbc.execute("ALTER TABLE reviews ALTER COLUMN created_at SET NOT NULL");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageDTO<ReviewDTO> page = reviewService.getMoviePage(movie.getId(), cursor, 1);
+            page.getItems().forEach(r -> ids.add(r.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(dated.getId(), alsoUndated.getId(), undated.getId()), ids);
+        assertEquals(ReviewService.UNDATED, reviewRepo.findById(undated.getId()).orElseThrow().getCreatedAt());
+
+        // with the column NOT NULL again, later starts do not scan the table
+        assertStatements(0, reviewService::backfillCreatedAt);
+    }
+
+    @Test
+    void readsFallBackToTheUsersNameInOneStatement() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User other = new User();
+            other.setName("Author " + i);
+            other.setEmail("author" + i + "@example.com");
+            other.setPassword("x");
+            other.setRole("USER");
+            other = userRepo.save(other);
+            userIds.add(other.getId());
+
+            Review review = new Review();
+            review.setMovie(movie);
+            review.setUser(other);
+            // rows written before userName was stored
+            review.setUserName(null);
+            review.setComment("Legacy");
+            review.setRating(4.0);
+            reviewRepo.save(review);
+        }
+
+        List<ReviewDTO> byMovie = new ArrayList<>();
+        assertStatements(1, () -> byMovie.addAll(reviewService.getByMovie(movie.getId())));
+        assertEquals(List.of("Author 0", "Author 1", "Author 2"),
+                byMovie.stream().map(ReviewDTO::getUserName).sorted().toList());
+        assertEquals(movie.getId(), byMovie.get(0).getMovieId());
+
+        assertStatements(1, () -> assertEquals(3, reviewService.getAll().size()));
+        assertStatements(1, () -> assertEquals("Author 1",
+                reviewService.findReviewsByUserId(userIds.get(1)).get(0).getUserName()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertStatements(1, () -> reviewService.exportAll(out));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"userName\":\"Author " + i + "\""));
+        }
+    }
+
+    @Test
+    void exportWritesOneJsonObjectPerReview() {
+        for (int i = 0; i < 1200; i++) {
+            saveReview(LocalDateTime.of(2025, 1, 1, 12, 0).plusSeconds(i));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = reviewService.exportAll(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1200, written);
+        assertEquals(1200, lines.length);
+        assertEquals('{', lines[0].charAt(0));
+    }
+
+    @Test
+    void importSkipsBadRowsAndUpdatesAverages() {
+        List<ReviewDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(importRow(movie.getId(), reviewer.getId(), i % 2 == 0 ? 4.0 : 2.0));
+        }
+        rows.add(importRow(-1L, reviewer.getId(), 5.0));
+        rows.add(importRow(movie.getId(), -1L, 5.0));
+        rows.add(importRow(movie.getId(), reviewer.getId(), 9.0));
+
+        ReviewImportResult result = reviewImportService.importReviews(rows);
+
+        assertEquals(2503, result.getReceived());
+        assertEquals(2500, result.getImported());
+        assertEquals(List.of(2500, 2501, 2502),
+                result.getRejected().stream().map(ReviewImportResult.Reject::getIndex).toList());
+        assertEquals(2500, reviewRepo.count());
+        MovieRating rating = ratingRepo.findById(movie.getId()).orElseThrow();
+        assertEquals(2500, rating.getReviewCount());
+        assertEquals(3.0, rating.getAverageRating(), 1e-9);
+    }
+
+    private static ReviewDTO importRow(Long movieId, Long userId, double rating) {
+        ReviewDTO dto = new ReviewDTO();
+        dto.setMovieId(movieId);
+        dto.setUserId(userId);
+        dto.setComment("Imported");
+        dto.setRating(rating);
+        return dto;
+    }
+
+    private Review saveReview(LocalDateTime createdAt) {
+        Review review = new Review();
+        review.setMovie(movie);
+        review.setUser(reviewer);
+        review.setUserName(reviewer.getName());
+        review.setComment("Comment");
+        review.setRating(3.0);
+        review.setCreatedAt(createdAt);
+        return reviewRepo.save(review);
+    }
+}
@@ -29,7 +29,7 @@ const ContactPage: React.FC = () => {
   const onSubmit = async (data: ContactFormData) => {
     if (data.website) return;
     try {
-      await fetch('http://localhost:8080/api/feedback', {
+      const res = await fetch('http://localhost:8080/api/feedback', {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify({
@@ -38,6 +38,8 @@ const ContactPage: React.FC = () => {
           message: data.message,
         }),
       });
+      // 503 while the server's feedback queue is full
+      if (!res.ok) throw new Error(`Feedback rejected: ${res.status}`);
       toast.success("Message sent successfully! We'll get back to you soon.");
       reset();
     } catch (err) {
@@ -7,7 +7,7 @@
 // import { useAuth } from '../contexts/AuthContext';
 // import chhavaVideo from '../components/movie/Chhaava.mp4';
 import React, { useState, useEffect } from 'react';
-import { getMovies } from '../services/movieService';
+import { getTopMovies } from '../services/movieService';
 import { Movie } from '../types';
 //import MovieGrid from '../components/movie/MovieGrid';
 import { ArrowRight } from 'lucide-react';
@@ -26,7 +26,7 @@ const HomePage: React.FC = () => {
   useEffect(() => {
     const fetchMovies = async () => {
       try {
-        const data = await getMovies();
+        const data = await getTopMovies();
         setMovies(data);
       } catch (err) {
         console.error('Error fetching movies:', err);
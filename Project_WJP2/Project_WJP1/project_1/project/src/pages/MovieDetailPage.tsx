@@ -1,7 +1,7 @@
 // src/pages/MovieDetailPage.tsx
 import React, { useState, useEffect, useRef, useMemo } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
-import { getMovie } from '../services/movieService';
+import { getMovie, subscribeToMovieEvents } from '../services/movieService';
 import { getReviewsByMovie, createReview } from '../services/reviewService';
 import { Movie, Review, ReviewFormData } from '../types';
 import LoadingSpinner from '../components/common/LoadingSpinner';
@@ -25,6 +25,9 @@ const MovieDetailPage: React.FC = () => {
   const [movieLoadError, setMovieLoadError] = useState(false);
   const [reviewsLoadError, setReviewsLoadError] = useState(false);
   const [isSubmittingReview, setIsSubmittingReview] = useState(false);
+  // pushed over the event stream; undefined until the first update arrives
+  const [liveRating, setLiveRating] = useState<number | null | undefined>(undefined);
+  const [reviewsVersion, setReviewsVersion] = useState(0);
 
   const { isLoggedIn, user } = useAuth();
   const reviewFormRef = useRef<HTMLDivElement>(null);
@@ -79,7 +82,26 @@ const MovieDetailPage: React.FC = () => {
     };
 
     fetchReviews();
-  }, [movie, movieId]);
+  }, [movie, movieId, reviewsVersion]);
+
+  // Live reviews and rating while the page is open
+  const movieLoaded = movie !== null;
+  useEffect(() => {
+    if (!movieLoaded) return;
+
+    setLiveRating(undefined);
+    return subscribeToMovieEvents(movieId, {
+      onReview: (type, review) => {
+        if (type === 'ADDED') {
+          setReviews((prev) => (prev.some((r) => r.id === review.id) ? prev : [review, ...prev]));
+        } else {
+          setReviews((prev) => prev.filter((r) => r.id !== review.id));
+        }
+      },
+      onRating: (averageRating) => setLiveRating(averageRating),
+      onResync: () => setReviewsVersion((v) => v + 1),
+    });
+  }, [movieLoaded, movieId]);
 
   // Memoized userId for efficiency
   const userId = user?.id;
@@ -162,6 +184,8 @@ const MovieDetailPage: React.FC = () => {
     );
   }
 
+  const averageRating = liveRating !== undefined ? liveRating : movie.averageRating;
+
   return (
     <div className="bg-black min-h-screen pb-12">
       {/* Movie Header */}
@@ -210,11 +234,11 @@ const MovieDetailPage: React.FC = () => {
 
               <h1 className="text-4xl md:text-5xl font-bold mb-4 text-white drop-shadow-lg">{movie.title}</h1>
 
-              {movie.averageRating !== null && movie.averageRating !== undefined ? (
-                <div className="flex items-center mb-6" aria-label={`Average rating ${movie.averageRating.toFixed(1)} out of 5`}>
-                  <RatingStars rating={movie.averageRating} size="md" />
+              {averageRating !== null && averageRating !== undefined ? (
+                <div className="flex items-center mb-6" aria-label={`Average rating ${averageRating.toFixed(1)} out of 5`}>
+                  <RatingStars rating={averageRating} size="md" />
                   <span className="ml-2 font-medium text-red-400">
-                    {movie.averageRating.toFixed(1)} / 5
+                    {averageRating.toFixed(1)} / 5
                   </span>
                 </div>
               ) : (
@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { getMovies } from '../services/movieService';
+import { getMovies, searchMovies } from '../services/movieService';
 import { Movie } from '../types';
 import MovieGrid from '../components/movie/MovieGrid';
 import { Search, Filter } from 'lucide-react';
@@ -28,21 +28,32 @@ const MoviesPage: React.FC = () => {
   }, []);
   
   useEffect(() => {
-    // Filter movies based on search term and selected genre
-    let result = movies;
-    
-    if (searchTerm) {
-      result = result.filter(movie => 
-        movie.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        movie.description.toLowerCase().includes(searchTerm.toLowerCase())
-      );
-    }
-    
-    if (selectedGenre) {
-      result = result.filter(movie => movie.genre === selectedGenre);
+    // Search runs on the server (ranked); genre filtering stays local
+    let cancelled = false;
+    const applyGenre = (list: Movie[]) =>
+      selectedGenre ? list.filter(movie => movie.genre === selectedGenre) : list;
+
+    if (!searchTerm.trim()) {
+      setFilteredMovies(applyGenre(movies));
+      return;
     }
-    
-    setFilteredMovies(result);
+
+    const timer = setTimeout(async () => {
+      try {
+        const ids = await searchMovies(searchTerm);
+        if (cancelled) return;
+        const byId = new Map(movies.map(movie => [movie.id, movie]));
+        const ranked = ids.map(id => byId.get(id)).filter((movie): movie is Movie => movie !== undefined);
+        setFilteredMovies(applyGenre(ranked));
+      } catch (error) {
+        console.error('Error searching movies:', error);
+      }
+    }, 150);
+
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
   }, [searchTerm, selectedGenre, movies]);
   
   // Get unique genres from movies
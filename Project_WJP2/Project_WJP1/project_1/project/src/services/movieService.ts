@@ -1,5 +1,5 @@
 import api from './api';
-import { Movie, MovieFormData } from '../types';
+import { Movie, MovieFormData, Review } from '../types';
 
 //  Add token to headers if user is logged in
 const getAuthHeaders = () => {
@@ -15,13 +15,34 @@ const getAuthHeaders = () => {
 //  1. Get all movies
 export const getMovies = async (): Promise<Movie[]> => {
   try {
-    return (await api.get('/movies')).data;
+    return (await api.get('/movies', { params: { all: true } })).data;
   } catch (error) {
     console.error('Error fetching movies:', error);
     throw error;
   }
 };
 
+// Server-side search: ids of the best matches, best first
+export const searchMovies = async (q: string, limit = 50): Promise<number[]> => {
+  try {
+    const hits: { id: number }[] = (await api.get('/movies/search', { params: { q, limit } })).data;
+    return hits.map((hit) => hit.id);
+  } catch (error) {
+    console.error('Error searching movies:', error);
+    throw error;
+  }
+};
+
+// Home page list, best rated first and unrated movies last; served from memory by the backend
+export const getTopMovies = async (limit = 12): Promise<Movie[]> => {
+  try {
+    return (await api.get('/movies/top', { params: { limit } })).data;
+  } catch (error) {
+    console.error('Error fetching top movies:', error);
+    throw error;
+  }
+};
+
 // 2. Get single movie by ID
 export const getMovie = async (id: number): Promise<Movie> => {
   try {
@@ -32,6 +53,31 @@ export const getMovie = async (id: number): Promise<Movie> => {
   }
 };
 
+// Live updates for a movie page over Server-Sent Events; returns a function that closes the stream.
+// EventSource reconnects by itself, and the first event after (re)connecting is the current rating.
+export interface MovieEventHandlers {
+  onReview: (type: 'ADDED' | 'REMOVED', review: Review) => void;
+  onRating: (averageRating: number | null, reviewCount: number) => void;
+  // events were dropped or reviews changed in bulk: refetch the reviews
+  onResync: () => void;
+}
+
+export const subscribeToMovieEvents = (id: number, handlers: MovieEventHandlers): (() => void) => {
+  const source = new EventSource(`${api.defaults.baseURL}/movies/${id}/events`);
+  source.addEventListener('review', (e) => {
+    const { type, review } = JSON.parse((e as MessageEvent).data);
+    handlers.onReview(type, review);
+  });
+  source.addEventListener('rating', (e) => {
+    const { averageRating, reviewCount } = JSON.parse((e as MessageEvent).data);
+    handlers.onRating(averageRating, reviewCount);
+  });
+  source.addEventListener('resync', () => handlers.onResync());
+  // the movie is gone; stop EventSource from reconnecting
+  source.addEventListener('deleted', () => source.close());
+  return () => source.close();
+};
+
 //  3. Create movie (with auth token)
 export const createMovie = async (movieData: MovieFormData): Promise<Movie> => {
   try {
@@ -44,7 +44,8 @@ export const getReviewsByMovie = async (
   movieId: number
 ): Promise<Review[]> => {
   const response = await axios.get<Review[]>(
-    `${API_BASE_URL}/reviews/movie/${movieId}`
+    `${API_BASE_URL}/reviews/movie/${movieId}`,
+    { params: { all: true } }
   );
   return response.data;
 };
@@ -70,7 +71,7 @@ export const deleteReview = async (reviewId: number): Promise<void> => {
 export const getUserReviews = async (userId: number): Promise<Review[]> => {
   const response = await axios.get<Review[]>(
     `${API_BASE_URL}/reviews/user/${userId}`,
-    getAuthHeaders()
+    { ...getAuthHeaders(), params: { all: true } }
   );
   return response.data;
 };